@@ -0,0 +1,34 @@
+package com.expensetracker.benchmark;
+
+import com.expensetracker.ExpenseTrackerApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Boots the application on a random port against a private in-memory H2
+ * database (see src/test/resources/application.properties).
+ */
+public final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext start(String database, String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:" + database
+                        + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                        + SqlCapture.class.getName(),
+                "--server.port=0",
+                "--logging.level.root=WARN"
+        ));
+        args.addAll(Arrays.asList(properties));
+
+        return new SpringApplicationBuilder(ExpenseTrackerApplication.class)
+                .run(args.toArray(String[]::new));
+    }
+}
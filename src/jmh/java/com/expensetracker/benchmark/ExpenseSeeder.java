@@ -0,0 +1,77 @@
+package com.expensetracker.benchmark;
+
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.Money;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk-loads synthetic users and expenses over plain JDBC.
+ */
+public final class ExpenseSeeder {
+
+    public static final String[] CATEGORIES = {
+            "Food", "Housing", "Transport", "Utilities",
+            "Health", "Entertainment", "Shopping", "Travel"
+    };
+
+    public static final LocalDate FIRST_DATE = LocalDate.of(2020, 1, 1);
+    public static final int DAYS = 5 * 365;
+
+    private static final int BATCH = 5_000;
+
+    private ExpenseSeeder() {
+    }
+
+    public static long createUser(JdbcTemplate jdbc, String email) {
+        return createUser(jdbc, email, "x");
+    }
+
+    // passwordHash must come from the application's encoder for the user to log in
+    public static long createUser(JdbcTemplate jdbc, String email, String passwordHash) {
+        jdbc.update(
+                "INSERT INTO users (email, name, password) VALUES (?, ?, ?)",
+                email, "bench", passwordHash
+        );
+        return jdbc.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, email);
+    }
+
+    public static void seedExpenses(JdbcTemplate jdbc, long userId, int rows) {
+        LocalDateTime created = LocalDateTime.of(2020, 1, 1, 0, 0);
+        List<Object[]> batch = new ArrayList<>(BATCH);
+        long id = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM expense", Long.class);
+
+        for (int i = 0; i < rows; i++) {
+            batch.add(new Object[]{
+                    ++id,
+                    "Expense " + i,
+                    100 + i * 7919 % 50_000,
+                    Money.DEFAULT_CURRENCY,
+                    CATEGORIES[i % CATEGORIES.length],
+                    Date.valueOf(FIRST_DATE.plusDays(i % DAYS)),
+                    i % 3 == 0 ? "Card" : "Cash",
+                    i % 5 == 0 ? "seeded" : null,
+                    Timestamp.valueOf(created.plusSeconds(i)),
+                    userId
+            });
+
+            if (batch.size() == BATCH || i == rows - 1) {
+                jdbc.batchUpdate("""
+                        INSERT INTO expense
+                            (id, title, amount_minor, currency, category, date, payment_method, notes, created_at, user_id)
+                        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                        """, batch);
+                batch.clear();
+            }
+        }
+
+        // Keep ids handed out by Hibernate's pooled sequence clear of the seeded ones
+        jdbc.execute("ALTER SEQUENCE expense_seq RESTART WITH " + (id + Expense.ID_ALLOCATION_SIZE));
+    }
+}
@@ -0,0 +1,365 @@
+package com.expensetracker.benchmark;
+
+import com.expensetracker.service.MonthlySummaryRollup;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * End-to-end load test of the whole application over real HTTP.
+ * <p>
+ * Boots the app against a private in-memory H2 database in PostgreSQL mode,
+ * seeds {@code users} users with {@code expenses} expenses each, logs every
+ * client in and then has {@code clients} threads call the API back to back
+ * with a weighted mix of endpoints. Requests started during the warmup are
+ * not counted. Prints throughput and latency percentiles per endpoint and
+ * writes the same numbers as JSON to {@code report}.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec@load -Dload.args="clients=32 duration=60"
+ * </pre>
+ * Options are {@code key=value}: users, expenses, clients, warmup and
+ * duration (seconds), mix ({@code endpoint:weight,...}) and report.
+ * Arguments starting with {@code --} are passed to Spring, e.g.
+ * {@code --spring.datasource.url=jdbc:postgresql://...} to load a real database.
+ */
+public final class LoadHarness {
+
+    enum Endpoint { LOGIN, LIST, FILTER, SUMMARY, CREATE, UPDATE, DELETE }
+
+    private static final Map<String, String> DEFAULTS = Map.of(
+            "users", "50",
+            "expenses", "2000",
+            "clients", "32",
+            "warmup", "15",
+            "duration", "60",
+            "mix", "login:2,list:30,filter:20,summary:20,create:12,update:8,delete:8",
+            "report", "target/load-report.json"
+    );
+
+    private static final String PASSWORD = "load-password";
+    private static final double[] PERCENTILES = {0.50, 0.99, 0.999};
+    private static final String[] PERCENTILE_NAMES = {"p50", "p99", "p99.9"};
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final String base;
+    private final HttpClient http;
+    private final Endpoint[] weighted;
+    private final long measureFrom;
+    private final long measureUntil;
+
+    private LoadHarness(String base, Endpoint[] weighted, long measureFrom, long measureUntil) {
+        this.base = base;
+        this.http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        this.weighted = weighted;
+        this.measureFrom = measureFrom;
+        this.measureUntil = measureUntil;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        List<String> springArgs = new ArrayList<>(List.of(
+                // Production cost for logins; the test properties lower it
+                "--security.password.bcrypt-strength=10"
+        ));
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                springArgs.add(arg);
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0 || !DEFAULTS.containsKey(arg.substring(0, eq))) {
+                throw new IllegalArgumentException("Unknown option " + arg + ", expected one of " + DEFAULTS.keySet());
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+
+        int users = Integer.parseInt(options.get("users"));
+        int expenses = Integer.parseInt(options.get("expenses"));
+        int clients = Integer.parseInt(options.get("clients"));
+        long warmupNanos = Long.parseLong(options.get("warmup")) * 1_000_000_000L;
+        long durationNanos = Long.parseLong(options.get("duration")) * 1_000_000_000L;
+        Endpoint[] weighted = parseMix(options.get("mix"));
+
+        ConfigurableApplicationContext context = BenchmarkApplication.start(
+                "load_harness", springArgs.toArray(String[]::new));
+        try {
+            seed(context, users, expenses);
+
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            long start = System.nanoTime();
+            LoadHarness harness = new LoadHarness(
+                    base, weighted, start + warmupNanos, start + warmupNanos + durationNanos);
+
+            System.out.printf("Seeded %d users x %d expenses, running %d clients for %ss (+%ss warmup)%n",
+                    users, expenses, clients, options.get("duration"), options.get("warmup"));
+
+            List<Client> workers = new ArrayList<>(clients);
+            CountDownLatch done = new CountDownLatch(clients);
+            for (int i = 0; i < clients; i++) {
+                Client client = harness.new Client(email(i % users), done);
+                workers.add(client);
+                Thread thread = new Thread(client, "load-client-" + i);
+                thread.setDaemon(true);
+                thread.start();
+            }
+            done.await();
+
+            harness.report(workers, durationNanos, options.get("report"));
+        } finally {
+            context.close();
+        }
+    }
+
+    // ---------- SETUP ----------
+
+    private static void seed(ConfigurableApplicationContext context, int users, int expenses) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        String hash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+
+        for (int i = 0; i < users; i++) {
+            long userId = ExpenseSeeder.createUser(jdbc, email(i), hash);
+            ExpenseSeeder.seedExpenses(jdbc, userId, expenses);
+        }
+        jdbc.execute("ANALYZE");
+        context.getBean(MonthlySummaryRollup.class).rebuild(null);
+    }
+
+    private static String email(int user) {
+        return "load-" + user + "@example.com";
+    }
+
+    private static Endpoint[] parseMix(String mix) {
+        List<Endpoint> weighted = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            Endpoint endpoint = Endpoint.valueOf(parts[0].trim().toUpperCase(Locale.ROOT));
+            int weight = Integer.parseInt(parts[1].trim());
+            for (int i = 0; i < weight; i++) {
+                weighted.add(endpoint);
+            }
+        }
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("Empty mix: " + mix);
+        }
+        return weighted.toArray(Endpoint[]::new);
+    }
+
+    // ---------- CLIENT ----------
+
+    private final class Client implements Runnable {
+
+        private final String credentials;
+        private final CountDownLatch done;
+        private final EnumMap<Endpoint, Samples> samples = new EnumMap<>(Endpoint.class);
+        private final EnumMap<Endpoint, Integer> errors = new EnumMap<>(Endpoint.class);
+        private final List<Long> created = new ArrayList<>();
+        private String token;
+
+        Client(String email, CountDownLatch done) {
+            this.credentials = """
+                    {"email": "%s", "password": "%s"}""".formatted(email, PASSWORD);
+            this.done = done;
+            for (Endpoint endpoint : Endpoint.values()) {
+                samples.put(endpoint, new Samples());
+                errors.put(endpoint, 0);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                token = "Bearer " + login().body();
+
+                while (System.nanoTime() < measureUntil) {
+                    Endpoint endpoint = weighted[ThreadLocalRandom.current().nextInt(weighted.length)];
+                    // Updates and deletes only touch this client's own inserts
+                    if ((endpoint == Endpoint.UPDATE || endpoint == Endpoint.DELETE) && created.isEmpty()) {
+                        endpoint = Endpoint.CREATE;
+                    }
+                    call(endpoint);
+                }
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            } finally {
+                done.countDown();
+            }
+        }
+
+        private void call(Endpoint endpoint) throws Exception {
+            long started = System.nanoTime();
+            HttpResponse<String> response = switch (endpoint) {
+                case LOGIN -> login();
+                case LIST -> send(get("/expenses?page=" + random(10) + "&size=20"));
+                case FILTER -> {
+                    LocalDate from = randomMonth();
+                    yield send(get("/expenses/filter?category=" + randomCategory()
+                            + "&from=" + from + "&to=" + from.plusMonths(1).minusDays(1) + "&size=20"));
+                }
+                case SUMMARY -> {
+                    LocalDate month = randomMonth();
+                    yield send(get("/expenses/summary?month=" + month.getMonthValue() + "&year=" + month.getYear()));
+                }
+                case CREATE -> send(withBody("/expenses", "POST", randomExpense()));
+                case UPDATE -> send(withBody(
+                        "/expenses/" + created.get(random(created.size())), "PUT", randomExpense()));
+                case DELETE -> send(authorized("/expenses/" + created.remove(created.size() - 1)).DELETE().build());
+            };
+            long elapsed = System.nanoTime() - started;
+
+            if (response.statusCode() / 100 != 2) {
+                if (started >= measureFrom) errors.merge(endpoint, 1, Integer::sum);
+                return;
+            }
+            if (endpoint == Endpoint.CREATE) {
+                created.add(mapper.readTree(response.body()).get("id").asLong());
+            }
+            if (started >= measureFrom) {
+                samples.get(endpoint).add(elapsed);
+            }
+        }
+
+        private HttpResponse<String> login() throws Exception {
+            return send(HttpRequest.newBuilder(URI.create(base + "/users/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(credentials))
+                    .build());
+        }
+
+        private HttpRequest get(String path) {
+            return authorized(path).GET().build();
+        }
+
+        private HttpRequest withBody(String path, String method, String json) {
+            return authorized(path)
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(json))
+                    .build();
+        }
+
+        private HttpRequest.Builder authorized(String path) {
+            return HttpRequest.newBuilder(URI.create(base + path)).header("Authorization", token);
+        }
+
+        private HttpResponse<String> send(HttpRequest request) throws Exception {
+            return http.send(request, HttpResponse.BodyHandlers.ofString());
+        }
+    }
+
+    private static int random(int bound) {
+        return ThreadLocalRandom.current().nextInt(bound);
+    }
+
+    private static String randomCategory() {
+        return ExpenseSeeder.CATEGORIES[random(ExpenseSeeder.CATEGORIES.length)];
+    }
+
+    private static LocalDate randomMonth() {
+        return ExpenseSeeder.FIRST_DATE.plusMonths(random(ExpenseSeeder.DAYS / 31));
+    }
+
+    private static String randomExpense() {
+        return """
+                {"title": "Load %d", "amount": %d.25, "category": "%s", "date": "%s",
+                 "paymentMethod": "Card", "notes": "load"}""".formatted(
+                random(1_000_000), 1 + random(500), randomCategory(),
+                ExpenseSeeder.FIRST_DATE.plusDays(random(ExpenseSeeder.DAYS)));
+    }
+
+    // ---------- REPORT ----------
+
+    private void report(List<Client> clients, long durationNanos, String path) throws Exception {
+        double seconds = durationNanos / 1e9;
+        Map<String, Object> json = new LinkedHashMap<>();
+        Samples all = new Samples();
+        int allErrors = 0;
+
+        System.out.printf("%n%-8s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        for (Endpoint endpoint : Endpoint.values()) {
+            Samples merged = new Samples();
+            int errors = 0;
+            for (Client client : clients) {
+                merged.addAll(client.samples.get(endpoint));
+                errors += client.errors.get(endpoint);
+            }
+            if (merged.size == 0 && errors == 0) continue;
+
+            String name = endpoint.name().toLowerCase(Locale.ROOT);
+            json.put(name, row(name, merged, errors, seconds));
+            all.addAll(merged);
+            allErrors += errors;
+        }
+        json.put("total", row("total", all, allErrors, seconds));
+
+        File report = new File(path);
+        if (report.getParentFile() != null) {
+            report.getParentFile().mkdirs();
+        }
+        mapper.writerWithDefaultPrettyPrinter().writeValue(report, json);
+        System.out.println("\nReport written to " + report.getAbsolutePath());
+    }
+
+    private static Map<String, Object> row(String name, Samples samples, int errors, double seconds) {
+        long[] sorted = samples.sorted();
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("requests", sorted.length);
+        row.put("errors", errors);
+        row.put("throughput", sorted.length / seconds);
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            row.put(PERCENTILE_NAMES[i], millis(percentile(sorted, PERCENTILES[i])));
+        }
+        row.put("max", millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+
+        System.out.printf("%-8s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                name, sorted.length, errors, sorted.length / seconds,
+                row.get("p50"), row.get("p99"), row.get("p99.9"), row.get("max"));
+        return row;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        return sorted[Math.max(0, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    // Latencies in nanoseconds, one per completed request
+    private static final class Samples {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.values[i]);
+            }
+        }
+
+        long[] sorted() {
+            long[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.expensetracker.benchmark;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the SQL Hibernate sends on the current thread, so benchmarks can
+ * ask the database how it plans the exact statements the application runs.
+ * Recording starts with {@link #clear()} and ends with {@link #statements()},
+ * so threads that never ask (Tomcat workers under load) keep nothing.
+ * <p>
+ * With {@code -Dbench.db.latency-ms=N} every statement also waits N ms,
+ * standing in for the network round trip to a remote database.
+ */
+public class SqlCapture implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> statements = new ThreadLocal<>();
+
+    private static final long LATENCY_MS = Long.getLong("bench.db.latency-ms", 0);
+
+    @Override
+    public String inspect(String sql) {
+        List<String> recorded = statements.get();
+        if (recorded != null) {
+            recorded.add(sql);
+        }
+
+        if (LATENCY_MS > 0) {
+            try {
+                Thread.sleep(LATENCY_MS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return sql;
+    }
+
+    public static void clear() {
+        statements.set(new ArrayList<>());
+    }
+
+    public static List<String> statements() {
+        List<String> recorded = statements.get();
+        statements.remove();
+        return recorded == null ? List.of() : List.copyOf(recorded);
+    }
+}
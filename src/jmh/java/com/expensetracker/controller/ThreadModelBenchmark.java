@@ -0,0 +1,109 @@
+package com.expensetracker.controller;
+
+import com.expensetracker.benchmark.BenchmarkApplication;
+import com.expensetracker.benchmark.ExpenseSeeder;
+import com.expensetracker.security.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thread-per-request Tomcat versus the virtual-threads profile under a
+ * mixed load, over real HTTP.
+ * <p>
+ * A quarter of the clients read a cached summary (no database work), the
+ * rest read a deep page that always runs two statements. Every statement waits
+ * {@code bench.db.latency-ms} to mimic a remote database, and the server is
+ * scaled down ({@link #TOMCAT_THREADS} request threads, {@link #POOL_SIZE}
+ * connections) so a single-core machine reaches the same saturation point
+ * that production hits with the default 200 threads.
+ * <p>
+ * Run on Java 21: {@code mvn -Pbenchmark,java21 test-compile exec:exec -Djmh.args=ThreadModel}
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = {
+        "-Xmx1g",
+        "-Dbench.db.latency-ms=50",
+        // Same number of OS threads doing server work in both modes; on a
+        // single core the default would be one carrier against every client thread
+        "-Djdk.virtualThreadScheduler.parallelism=16"
+})
+@State(Scope.Benchmark)
+public class ThreadModelBenchmark {
+
+    private static final int TOMCAT_THREADS = 16;
+    private static final int POOL_SIZE = 8;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest cached;
+    private HttpRequest uncached;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start(
+                "thread_model_" + threads,
+                "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                "--spring.profiles.active=" + ("virtual".equals(threads) ? "virtual-threads" : "default")
+        );
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+
+        long userId = ExpenseSeeder.createUser(jdbc, "bench@example.com");
+        ExpenseSeeder.seedExpenses(jdbc, userId, 2_000);
+
+        String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        String token = "Bearer " + JwtUtil.generateToken(userId, "bench@example.com");
+
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        cached = HttpRequest.newBuilder(URI.create(base + "/expenses/summary?month=3&year=2022"))
+                .header("Authorization", token)
+                .build();
+        uncached = HttpRequest.newBuilder(URI.create(base + "/expenses?page=3&size=20"))
+                .header("Authorization", token)
+                .build();
+
+        send(cached);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(8)
+    public int cachedRead() throws Exception {
+        return send(cached);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(24)
+    public int databaseRead() throws Exception {
+        return send(uncached);
+    }
+
+    private int send(HttpRequest request) throws Exception {
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 200) {
+            throw new IllegalStateException(request.uri() + " returned " + status);
+        }
+        return status;
+    }
+}
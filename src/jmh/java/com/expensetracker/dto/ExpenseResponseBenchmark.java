@@ -0,0 +1,76 @@
+package com.expensetracker.dto;
+
+import com.expensetracker.benchmark.ExpenseSeeder;
+import com.expensetracker.model.Expense;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU cost of turning a page of expenses into a response body, with no
+ * database involved: {@code map} is {@link ExpenseResponse#from} over the
+ * page, {@code serialize} writes the {@code Page<ExpenseResponse>} with an
+ * {@link ObjectMapper} configured the way Spring Boot configures it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExpenseResponseBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private List<Expense> entities;
+    private Page<ExpenseResponse> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        entities = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Expense expense = new Expense();
+            expense.setId((long) i);
+            expense.setTitle("Expense " + i);
+            expense.setAmountMinor(100 + i * 7919 % 50_000);
+            expense.setCategory(ExpenseSeeder.CATEGORIES[i % ExpenseSeeder.CATEGORIES.length]);
+            expense.setDate(ExpenseSeeder.FIRST_DATE.plusDays(i));
+            expense.setPaymentMethod(i % 3 == 0 ? "Card" : "Cash");
+            expense.setNotes(i % 5 == 0 ? "seeded" : null);
+            expense.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusSeconds(i));
+            entities.add(expense);
+        }
+
+        page = new PageImpl<>(
+                map(),
+                PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "createdAt")),
+                100_000
+        );
+    }
+
+    @Benchmark
+    public List<ExpenseResponse> map() {
+        List<ExpenseResponse> responses = new ArrayList<>(entities.size());
+        for (Expense expense : entities) {
+            responses.add(ExpenseResponse.from(expense));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return mapper.writeValueAsBytes(page);
+    }
+}
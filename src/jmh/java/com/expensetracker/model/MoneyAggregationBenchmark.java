@@ -0,0 +1,96 @@
+package com.expensetracker.model;
+
+import com.expensetracker.benchmark.ExpenseSeeder;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory aggregation of {@link #rows} amounts, the way reconciliation and
+ * {@link com.expensetracker.service.MonthlySummaryRollup#addAll} sum them:
+ * exact minor units in a {@code long} versus {@link BigDecimal}, with the old
+ * {@code double} sum as the (inexact) baseline. The {@code byCategory}
+ * variants group into a map first, as the rollup does per bucket.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MoneyAggregationBenchmark {
+
+    @Param({"1000", "100000"})
+    public int rows;
+
+    private long[] minor;
+    private BigDecimal[] decimals;
+    private double[] doubles;
+    private String[] categories;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        minor = new long[rows];
+        decimals = new BigDecimal[rows];
+        doubles = new double[rows];
+        categories = new String[rows];
+
+        for (int i = 0; i < rows; i++) {
+            minor[i] = 1 + random.nextLong(500_000);
+            decimals[i] = BigDecimal.valueOf(minor[i], 2);
+            doubles[i] = decimals[i].doubleValue();
+            categories[i] = ExpenseSeeder.CATEGORIES[i % ExpenseSeeder.CATEGORIES.length];
+        }
+    }
+
+    @Benchmark
+    public long sumMinorUnits() {
+        long total = 0;
+        for (long amount : minor) {
+            total = Math.addExact(total, amount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal sumBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal amount : decimals) {
+            total = total.add(amount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double sumDouble() {
+        double total = 0;
+        for (double amount : doubles) {
+            total += amount;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Map<String, long[]> byCategoryMinorUnits() {
+        Map<String, long[]> totals = new HashMap<>();
+        for (int i = 0; i < rows; i++) {
+            long[] total = totals.computeIfAbsent(categories[i], c -> new long[1]);
+            total[0] = Math.addExact(total[0], minor[i]);
+        }
+        return totals;
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> byCategoryBigDecimal() {
+        Map<String, BigDecimal> totals = new HashMap<>();
+        for (int i = 0; i < rows; i++) {
+            totals.merge(categories[i], decimals[i], BigDecimal::add);
+        }
+        return totals;
+    }
+}
@@ -0,0 +1,137 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.benchmark.BenchmarkApplication;
+import com.expensetracker.benchmark.ExpenseSeeder;
+import com.expensetracker.benchmark.SqlCapture;
+import com.expensetracker.dto.ExpenseResponse;
+import com.expensetracker.model.User;
+import com.expensetracker.service.ExpenseService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First-page latency of {@code /expenses/filter} for each filter combination
+ * against one user with {@link #rows} expenses.
+ * <p>
+ * Setup also asks H2 to EXPLAIN every statement Hibernate issued for each
+ * combination (page and count query), prints the plans and fails the run if
+ * any of them falls back to a table scan.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class ExpenseFilterBenchmark {
+
+    private static final LocalDate FROM = LocalDate.of(2022, 3, 1);
+    private static final LocalDate TO = LocalDate.of(2022, 3, 31);
+    private static final Pageable FIRST_PAGE =
+            PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+    @Param("1000000")
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private ExpenseService expenseService;
+    private User user;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("filter_bench");
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+
+        long userId = ExpenseSeeder.createUser(jdbc, "bench@example.com");
+        ExpenseSeeder.seedExpenses(jdbc, userId, rows);
+
+        // A few neighbours so user_id is not the only value in the index
+        for (int i = 0; i < 10; i++) {
+            long other = ExpenseSeeder.createUser(jdbc, "other" + i + "@example.com");
+            ExpenseSeeder.seedExpenses(jdbc, other, rows / 100);
+        }
+        jdbc.execute("ANALYZE");
+
+        expenseService = context.getBean(ExpenseService.class);
+        user = context.getBean(UserRepository.class).findById(userId).orElseThrow();
+
+        assertIndexed(jdbc, null, null, null);
+        assertIndexed(jdbc, "Food", null, null);
+        assertIndexed(jdbc, null, FROM, TO);
+        assertIndexed(jdbc, "Food", FROM, TO);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<ExpenseResponse> noFilter() {
+        return expenseService.getFilteredExpenseResponses(user, null, null, null, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<ExpenseResponse> category() {
+        return expenseService.getFilteredExpenseResponses(user, "Food", null, null, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<ExpenseResponse> dateRange() {
+        return expenseService.getFilteredExpenseResponses(user, null, FROM, TO, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<ExpenseResponse> categoryAndDateRange() {
+        return expenseService.getFilteredExpenseResponses(user, "Food", FROM, TO, FIRST_PAGE);
+    }
+
+    private void assertIndexed(JdbcTemplate jdbc, String category, LocalDate from, LocalDate to) {
+        SqlCapture.clear();
+        expenseService.getFilteredExpenseResponses(user, category, from, to, FIRST_PAGE);
+
+        List<Object> params = new ArrayList<>();
+        params.add(user.getId());
+        if (category != null) params.add("'" + category + "'");
+        if (from != null) params.add("DATE '" + from + "'");
+        if (to != null) params.add("DATE '" + to + "'");
+        params.add(FIRST_PAGE.getOffset());
+        params.add(FIRST_PAGE.getPageSize());
+
+        for (String sql : SqlCapture.statements()) {
+            String plan = jdbc.queryForObject("EXPLAIN " + inline(sql, params), String.class);
+
+            if (plan.contains("tableScan")) {
+                throw new IllegalStateException(
+                        "Filter (category=" + category + ", from=" + from + ", to=" + to
+                                + ") is not index-backed:\n" + plan);
+            }
+            System.out.println(plan.replaceAll("\\s+", " "));
+        }
+    }
+
+    // Binds in order: user, filters, then offset and limit for the page query
+    private static String inline(String sql, List<Object> params) {
+        StringBuilder out = new StringBuilder();
+        int next = 0;
+
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                out.append(params.get(next++));
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+}
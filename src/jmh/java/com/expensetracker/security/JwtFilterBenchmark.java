@@ -0,0 +1,90 @@
+package com.expensetracker.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of issuing a token ({@code generate}) and of authenticating one
+ * request in {@link JwtFilter}.
+ * <p>
+ * {@code warm*} re-sends one token, as a client does during a session, so
+ * verification is served from the verified-token cache. {@code cold*}
+ * either bypasses the cache or cycles through more distinct tokens than it
+ * holds, so every call pays for HMAC verification and claim decoding.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtFilterBenchmark {
+
+    private static final int COLD_TOKENS = (int) JwtUtil.VERIFIED_TOKEN_CACHE_SIZE * 10;
+
+    private final JwtFilter filter = new JwtFilter(new SimpleMeterRegistry());
+    private final FilterChain chain = (request, response) -> { };
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    private String warmToken;
+    private MockHttpServletRequest warmRequest;
+
+    private MockHttpServletRequest[] coldRequests;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        warmToken = JwtUtil.generateToken(42L, "bench@example.com");
+        warmRequest = request(warmToken);
+
+        coldRequests = new MockHttpServletRequest[COLD_TOKENS];
+        for (int i = 0; i < COLD_TOKENS; i++) {
+            coldRequests[i] = request(JwtUtil.generateToken((long) i, "user" + i + "@example.com"));
+        }
+    }
+
+    @Benchmark
+    public String generate() {
+        return JwtUtil.generateToken(42L, "bench@example.com");
+    }
+
+    @Benchmark
+    public Object coldValidate() {
+        return JwtUtil.verify(warmToken);
+    }
+
+    @Benchmark
+    public Object warmValidate() {
+        return JwtUtil.validateToken(warmToken);
+    }
+
+    @Benchmark
+    public void coldFilter(Blackhole bh) throws Exception {
+        MockHttpServletRequest request = coldRequests[next];
+        next = (next + 1) % COLD_TOKENS;
+
+        filter.doFilterInternal(request, response, chain);
+        bh.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void warmFilter(Blackhole bh) throws Exception {
+        filter.doFilterInternal(warmRequest, response, chain);
+        bh.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/expenses");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -0,0 +1,65 @@
+package com.expensetracker.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-request overhead of {@link RateLimitFilter} for an admitted request:
+ * bucket lookup, endpoint cost and one CAS. {@code sharedUser} runs every
+ * benchmark thread against one user's bucket, the worst case for CAS
+ * contention; {@code ownUser} gives each thread its own user. Run with
+ * {@code -t 4} or more to see contention.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RateLimitFilterBenchmark {
+
+    private static final AtomicLong USERS = new AtomicLong();
+
+    // 🔹 Effectively unlimited so every call is admitted and the full path is measured
+    private final RateLimitFilter filter =
+            new RateLimitFilter(new SimpleMeterRegistry(), true, 1_000_000, 1e12, 100_000);
+    private final FilterChain chain = (request, response) -> { };
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/expenses/filter");
+
+    private UsernamePasswordAuthenticationToken shared;
+    private UsernamePasswordAuthenticationToken own;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        request.setServletPath("/expenses/filter");
+        shared = authentication(0L);
+        own = authentication(USERS.incrementAndGet());
+    }
+
+    @Benchmark
+    public void sharedUser() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(shared);
+        filter.doFilterInternal(request, response, chain);
+    }
+
+    @Benchmark
+    public void ownUser() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(own);
+        filter.doFilterInternal(request, response, chain);
+    }
+
+    private static UsernamePasswordAuthenticationToken authentication(Long userId) {
+        return new UsernamePasswordAuthenticationToken(
+                new UserPrincipal(userId, "user" + userId + "@example.com"), null, List.of());
+    }
+}
@@ -0,0 +1,73 @@
+package com.expensetracker.service;
+
+import com.expensetracker.benchmark.BenchmarkApplication;
+import com.expensetracker.benchmark.ExpenseSeeder;
+import com.expensetracker.dto.ExpenseResponse;
+import com.expensetracker.model.User;
+import com.expensetracker.repository.ExpenseRepository;
+import com.expensetracker.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One {@link #rows}-row page of a user's expenses, loaded as managed
+ * entities and mapped by hand ({@code entities}, the previous code path)
+ * versus selected straight into {@link ExpenseResponse} ({@code projection}).
+ * <p>
+ * Run with {@code -prof gc} to compare {@code gc.alloc.rate.norm} (bytes/op).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ExpenseProjectionBenchmark {
+
+    @Param("10000")
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private ExpenseService expenseService;
+    private ExpenseRepository expenseRepo;
+    private User user;
+    private Pageable page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("projection_bench");
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+
+        long userId = ExpenseSeeder.createUser(jdbc, "bench@example.com");
+        ExpenseSeeder.seedExpenses(jdbc, userId, rows);
+
+        expenseService = context.getBean(ExpenseService.class);
+        expenseRepo = context.getBean(ExpenseRepository.class);
+        user = context.getBean(UserRepository.class).findById(userId).orElseThrow();
+        page = PageRequest.of(0, rows, Sort.by(Sort.Direction.DESC, "createdAt"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<ExpenseResponse> entities() {
+        return expenseRepo
+                .findFilteredExpenses(user, null, null, null, page)
+                .map(ExpenseResponse::from);
+    }
+
+    @Benchmark
+    public Page<ExpenseResponse> projection() {
+        return expenseService.getFilteredExpenseResponses(user, null, null, null, page);
+    }
+}
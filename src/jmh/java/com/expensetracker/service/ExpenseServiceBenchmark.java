@@ -0,0 +1,132 @@
+package com.expensetracker.service;
+
+import com.expensetracker.benchmark.BenchmarkApplication;
+import com.expensetracker.benchmark.ExpenseSeeder;
+import com.expensetracker.dto.CursorPage;
+import com.expensetracker.dto.ExpenseCursor;
+import com.expensetracker.dto.ExpenseResponse;
+import com.expensetracker.dto.ExpenseSummaryResponse;
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.User;
+import com.expensetracker.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ExpenseService} operations against one user with {@link #rows}
+ * expenses in an embedded H2 database, so growth effects show up as the
+ * row count goes from 10k to 1M.
+ * <p>
+ * {@code deepOffsetPage} and {@code deepKeysetSlice} read the same position
+ * halfway through the history; {@code addAndDelete} is the write path
+ * including the summary rollup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class ExpenseServiceBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt");
+    private static final LocalDate FROM = LocalDate.of(2022, 3, 1);
+    private static final LocalDate TO = LocalDate.of(2022, 3, 31);
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private ExpenseService expenseService;
+    private User user;
+    private Pageable deepPage;
+    private String deepCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("service_bench_" + rows);
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+
+        long userId = ExpenseSeeder.createUser(jdbc, "bench@example.com");
+        ExpenseSeeder.seedExpenses(jdbc, userId, rows);
+        jdbc.execute("ANALYZE");
+        context.getBean(MonthlySummaryRollup.class).rebuild(userId);
+
+        expenseService = context.getBean(ExpenseService.class);
+        user = context.getBean(UserRepository.class).findById(userId).orElseThrow();
+
+        int middle = rows / 2;
+        deepPage = PageRequest.of(middle / PAGE_SIZE, PAGE_SIZE, NEWEST_FIRST);
+
+        Map<String, Object> row = jdbc.queryForMap("""
+                SELECT id, created_at FROM expense
+                WHERE user_id = ?
+                ORDER BY created_at DESC, id DESC
+                OFFSET ? ROWS FETCH NEXT 1 ROWS ONLY
+                """, userId, deepPage.getOffset() - 1);
+        deepCursor = new ExpenseCursor(
+                ((Timestamp) row.get("created_at")).toLocalDateTime(),
+                ((Number) row.get("id")).longValue()
+        ).encode();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<ExpenseResponse> firstPage() {
+        return expenseService.getFilteredExpenseResponses(
+                user, null, null, null, PageRequest.of(0, PAGE_SIZE, NEWEST_FIRST));
+    }
+
+    @Benchmark
+    public Page<ExpenseResponse> filteredPage() {
+        return expenseService.getFilteredExpenseResponses(
+                user, "Food", FROM, TO, PageRequest.of(0, PAGE_SIZE, NEWEST_FIRST));
+    }
+
+    @Benchmark
+    public Page<ExpenseResponse> deepOffsetPage() {
+        return expenseService.getFilteredExpenseResponses(user, null, null, null, deepPage);
+    }
+
+    @Benchmark
+    public CursorPage<ExpenseResponse> deepKeysetSlice() {
+        return expenseService.getFilteredExpenseSlice(
+                user, null, null, null, deepCursor, false, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ExpenseSummaryResponse> monthlySummary() {
+        return expenseService.getMonthlySummary(user, 3, 2022);
+    }
+
+    @Benchmark
+    public Long addAndDelete() {
+        Expense expense = new Expense();
+        expense.setTitle("Bench");
+        expense.setAmountMinor(1250);
+        expense.setCategory("Food");
+        expense.setDate(FROM);
+        expense.setPaymentMethod("Card");
+        expense.setUser(user);
+
+        Long id = expenseService.addExpense(expense).getId();
+        expenseService.deleteExpense(user, id);
+        return id;
+    }
+}
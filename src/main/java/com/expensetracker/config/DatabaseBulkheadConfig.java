@@ -0,0 +1,44 @@
+package com.expensetracker.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps the {@code dataSource} bean in a {@link BulkheadDataSource} when
+ * {@code expense.db.bulkhead.permits} is set (the virtual-threads profile
+ * sets it to the pool size). Without read replicas that bean is the Hikari
+ * pool. With replicas it is the {@code LazyConnectionDataSourceProxy} in
+ * front of {@link ReplicaRoutingDataSource}, so the permits bound
+ * connections across all pools rather than per pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "expense.db.bulkhead.permits")
+public class DatabaseBulkheadConfig {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    public static BeanPostProcessor databaseBulkhead(Environment env) {
+        int permits = env.getRequiredProperty("expense.db.bulkhead.permits", Integer.class);
+        Duration timeout = env.getProperty("expense.db.bulkhead.timeout", Duration.class, Duration.ofSeconds(2));
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // 🔹 Only the bean JPA, JDBC and Flyway are handed; the routing bean behind it stays bare
+                if (DATA_SOURCE_BEAN.equals(beanName)
+                        && bean instanceof DataSource dataSource
+                        && !(bean instanceof BulkheadDataSource)) {
+                    return new BulkheadDataSource(dataSource, permits, timeout);
+                }
+                return bean;
+            }
+        };
+    }
+}
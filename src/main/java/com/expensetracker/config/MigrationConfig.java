@@ -0,0 +1,25 @@
+package com.expensetracker.config;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Flyway migrates the schema before Hibernate validates it, except in the
+ * class-data-sharing training run of the Docker build
+ * ({@code -Dspring.context.exit=onRefresh}): it has no database, and under
+ * AOT {@code spring.flyway.enabled} can no longer switch Flyway off at run time.
+ */
+@Configuration
+public class MigrationConfig {
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(Environment env) {
+        if ("onRefresh".equals(env.getProperty("spring.context.exit"))) {
+            return flyway -> { };
+        }
+        return Flyway::migrate;
+    }
+}
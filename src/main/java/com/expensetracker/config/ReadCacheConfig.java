@@ -0,0 +1,48 @@
+package com.expensetracker.config;
+
+import com.expensetracker.service.ExpenseReadCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.spring.cache.HazelcastCacheManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Backing store for {@link ExpenseReadCache}, chosen with {@code expense.cache.type}.
+ * <p>
+ * {@code local} (default) keeps entries in a size- and TTL-bounded Caffeine
+ * cache per instance. {@code distributed} shares them through Hazelcast, so
+ * every replica sees the same data versions; bounds for that mode live in the
+ * Hazelcast map config (see {@code hazelcast-expense-cache.yaml}).
+ */
+@Configuration
+public class ReadCacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "expense.cache.type", havingValue = "local", matchIfMissing = true)
+    public CacheManager localCacheManager(
+            @Value("${expense.cache.max-size:10000}") long maxSize,
+            @Value("${expense.cache.ttl:10m}") Duration ttl
+    ) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCacheNames(ExpenseReadCache.CACHE_NAMES);
+        return cacheManager;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "expense.cache.type", havingValue = "distributed")
+    public CacheManager distributedCacheManager(HazelcastInstance hazelcast) {
+        return new HazelcastCacheManager(hazelcast);
+    }
+}
@@ -0,0 +1,83 @@
+package com.expensetracker.config;
+
+import com.expensetracker.service.ExpenseDataVersion;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the single pooled {@link DataSource} with a
+ * {@link ReplicaRoutingDataSource} when {@code expense.db.replicas.urls}
+ * lists one or more read replicas.
+ * <p>
+ * The primary pool is still built from {@code spring.datasource.*}. Replicas
+ * share its credentials unless {@code expense.db.replicas.username} and
+ * {@code password} are set, and take pool settings from
+ * {@code expense.db.replicas.hikari.*}. A replica that is down at startup
+ * does not stop the application; it is simply not used until it answers.
+ */
+@Configuration
+@ConditionalOnProperty(name = "expense.db.replicas.urls")
+public class ReadReplicaConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            DataSourceProperties properties,
+            Environment env,
+            ObjectProvider<ExpenseDataVersion> dataVersion
+    ) {
+        Binder binder = Binder.get(env);
+        Duration readYourWrites = env.getProperty(
+                "expense.db.replicas.read-your-writes", Duration.class, Duration.ofSeconds(5));
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        String[] urls = env.getRequiredProperty("expense.db.replicas.urls", String[].class);
+        for (int i = 0; i < urls.length; i++) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(urls[i].trim())
+                    .username(env.getProperty("expense.db.replicas.username", properties.determineUsername()))
+                    .password(env.getProperty("expense.db.replicas.password", properties.determinePassword()))
+                    .build();
+            replica.setPoolName("replica-" + (i + 1));
+            replica.setReadOnly(true);
+            replica.setConnectionTimeout(Duration.ofSeconds(2).toMillis());
+            replica.setInitializationFailTimeout(-1);
+            binder.bind("expense.db.replicas.hikari", Bindable.ofInstance(replica));
+            replicas.add(replica);
+        }
+
+        return new ReplicaRoutingDataSource(
+                primary,
+                replicas,
+                userId -> dataVersion.getObject().wroteWithin(userId, readYourWrites)
+        );
+    }
+
+    // 🔹 Defers the real connection until the transaction's read-only flag is set
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routing) {
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
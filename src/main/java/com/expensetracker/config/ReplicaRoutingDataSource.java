@@ -0,0 +1,198 @@
+package com.expensetracker.config;
+
+import com.expensetracker.security.UserPrincipal;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongPredicate;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the
+ * primary.
+ * <p>
+ * The choice is made when the connection is first used, so this must sit
+ * behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * for the transaction's read-only flag to be visible. Replicas are used
+ * round-robin; one that fails to hand out a connection is marked down, the
+ * caller gets a primary connection instead, and the periodic check brings it
+ * back. A user who wrote within the read-your-writes window stays on the
+ * primary so they never read their own data from a lagging replica.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements MeterBinder, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final String PRIMARY = "primary";
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final LongPredicate recentlyWrote;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+                                    LongPredicate recentlyWrote) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.recentlyWrote = recentlyWrote;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (Replica replica : this.replicas) {
+            targets.put(replica.name(), replica.dataSource);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Replica replica = chooseReplica();
+        return replica == null ? PRIMARY : replica.name();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = chooseReplica();
+        if (replica == null) {
+            return primary.getConnection();
+        }
+
+        try {
+            return replica.dataSource.getConnection();
+        } catch (SQLException ex) {
+            replica.markDown(ex);
+            fallbacks.incrementAndGet();
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Replica replica = chooseReplica();
+        if (replica == null) {
+            return primary.getConnection(username, password);
+        }
+
+        try {
+            return replica.dataSource.getConnection(username, password);
+        } catch (SQLException ex) {
+            replica.markDown(ex);
+            fallbacks.incrementAndGet();
+            return primary.getConnection(username, password);
+        }
+    }
+
+    // 🔹 Replicas that are down come back only after a successful validation
+    @Scheduled(fixedDelayString = "${expense.db.replicas.health-check-interval:PT5S}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (connection.isValid(1)) {
+                    replica.markUp();
+                } else {
+                    replica.markDown(null);
+                }
+            } catch (SQLException ex) {
+                replica.markDown(ex);
+            }
+        }
+    }
+
+    public int healthyReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("db.replicas.healthy", this, ReplicaRoutingDataSource::healthyReplicas)
+                .register(registry);
+        Gauge.builder("db.replicas.configured", replicas, List::size)
+                .register(registry);
+        FunctionCounter.builder("db.replicas.fallbacks", fallbacks, AtomicLong::get)
+                .register(registry);
+    }
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            replica.dataSource.close();
+        }
+        primary.close();
+    }
+
+    private Replica chooseReplica() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || mustReadPrimary()) {
+            return null;
+        }
+
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    // 🔹 Jobs and anonymous reads have no writes of their own to see
+    private boolean mustReadPrimary() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return false;
+        }
+        if (authentication.getPrincipal() instanceof UserPrincipal principal && principal.getId() != null) {
+            return recentlyWrote.test(principal.getId());
+        }
+        // Tokens without a user id cannot be matched to their writes
+        return true;
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy = true;
+
+        Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        String name() {
+            return dataSource.getPoolName();
+        }
+
+        void markDown(SQLException cause) {
+            if (healthy) {
+                healthy = false;
+                log.warn("Read replica {} marked down, reads fall back to the primary", name(), cause);
+            }
+        }
+
+        void markUp() {
+            if (!healthy) {
+                healthy = true;
+                log.info("Read replica {} is back", name());
+            }
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.expensetracker.config;
 
 import com.expensetracker.security.JwtFilter;
+import com.expensetracker.security.RateLimitFilter;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -19,9 +22,15 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtFilter jwtFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final int managementPort;
 
-    public SecurityConfig(JwtFilter jwtFilter) {
+    public SecurityConfig(JwtFilter jwtFilter,
+                          RateLimitFilter rateLimitFilter,
+                          @Value("${management.server.port:-1}") int managementPort) {
         this.jwtFilter = jwtFilter;
+        this.rateLimitFilter = rateLimitFilter;
+        this.managementPort = managementPort;
     }
 
     @Bean
@@ -38,17 +47,27 @@ public class SecurityConfig {
                                 "/users/register"
                         ).permitAll()
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
-                        .requestMatchers("/actuator/**").permitAll()
+                        // Streamed responses finish on an async dispatch; the request was authorized before it started
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        // 🔹 Health stays public for platform checks; metrics only on the private management port
+                        .requestMatchers("/actuator/health", "/actuator/health/**", "/livez", "/readyz").permitAll()
+                        .requestMatchers(request -> managementPort > 0 && request.getLocalPort() == managementPort).permitAll()
+                        .requestMatchers("/actuator/**").denyAll()
                         .anyRequest().authenticated()
                 )
-                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+                // 🔹 Charged per user, so it must run once the token is known
+                .addFilterAfter(rateLimitFilter, JwtFilter.class);
 
         return http.build();
     }
 
+    // 🔹 Existing hashes keep verifying after a change; the cost is stored in each hash
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BCryptPasswordEncoder passwordEncoder(
+            @Value("${security.password.bcrypt-strength:10}") int strength
+    ) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
@@ -62,15 +81,26 @@ public class SecurityConfig {
         ));
 
         config.setAllowedMethods(List.of(
-                "GET", "POST", "PUT", "DELETE", "OPTIONS"
+                "GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"
         ));
 
         config.setAllowedHeaders(List.of(
                 "Authorization",
-                "Content-Type"
+                "Content-Type",
+                "Prefer",
+                // 🔹 Conditional GETs against the ETag of the read endpoints
+                "If-None-Match"
         ));
 
-        config.setExposedHeaders(List.of("Authorization"));
+        config.setExposedHeaders(List.of(
+                "Authorization",
+                "Preference-Applied",
+                // 🔹 On 503 (hash queue or pool full) and 429 (rate limit)
+                "Retry-After",
+                "ETag",
+                // 🔹 Export file name
+                "Content-Disposition"
+        ));
 
         // ❗ MUST be false with wildcard origins
         config.setAllowCredentials(false);
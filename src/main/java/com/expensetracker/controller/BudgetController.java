@@ -0,0 +1,79 @@
+package com.expensetracker.controller;
+
+import com.expensetracker.dto.BudgetRequest;
+import com.expensetracker.dto.BudgetStatusResponse;
+import com.expensetracker.exception.InvalidRangeException;
+import com.expensetracker.model.Money;
+import com.expensetracker.security.CurrentUserResolver;
+import com.expensetracker.service.BudgetService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.DateTimeException;
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@RequestMapping("/budgets")
+public class BudgetController {
+
+    private final BudgetService budgetService;
+    private final CurrentUserResolver currentUser;
+
+    public BudgetController(BudgetService budgetService,
+                            CurrentUserResolver currentUser) {
+        this.budgetService = budgetService;
+        this.currentUser = currentUser;
+    }
+
+    // ---------------- CREATE / UPDATE ----------------
+    // One budget per category and currency; setting it again replaces the limit
+    @PutMapping
+    public BudgetStatusResponse setBudget(
+            @Valid @RequestBody BudgetRequest request,
+            Authentication authentication
+    ) {
+        String currency = Money.currencyOrDefault(request.currency);
+
+        return budgetService.setBudget(
+                currentUser.resolveId(authentication),
+                request.category,
+                currency,
+                Money.toMinor(request.amount, currency)
+        );
+    }
+
+    // ---------------- STATUS ----------------
+    // 🔹 Read from the rollup counters; defaults to the current month
+    @GetMapping("/status")
+    public List<BudgetStatusResponse> getStatus(
+            Authentication authentication,
+            @RequestParam(required = false) Integer month,
+            @RequestParam(required = false) Integer year
+    ) {
+        YearMonth now = YearMonth.now();
+        YearMonth period;
+        try {
+            period = YearMonth.of(
+                    year != null ? year : now.getYear(),
+                    month != null ? month : now.getMonthValue()
+            );
+        } catch (DateTimeException ex) {
+            throw new InvalidRangeException("month must be between 1 and 12");
+        }
+
+        return budgetService.getStatus(currentUser.resolveId(authentication), period);
+    }
+
+    // ---------------- DELETE ----------------
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteBudget(
+            @PathVariable Long id,
+            Authentication authentication
+    ) {
+        budgetService.deleteBudget(currentUser.resolveId(authentication), id);
+    }
+}
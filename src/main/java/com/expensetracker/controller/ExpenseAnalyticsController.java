@@ -0,0 +1,86 @@
+package com.expensetracker.controller;
+
+import com.expensetracker.dto.RunningTotalsResponse;
+import com.expensetracker.dto.TopCategoriesResponse;
+import com.expensetracker.dto.YearMatrixResponse;
+import com.expensetracker.model.Money;
+import com.expensetracker.security.CurrentUserResolver;
+import com.expensetracker.service.ExpenseAnalyticsService;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/expenses/analytics")
+public class ExpenseAnalyticsController {
+
+    private final ExpenseAnalyticsService analyticsService;
+    private final CurrentUserResolver currentUser;
+    private final ExpenseETags eTags;
+
+    public ExpenseAnalyticsController(ExpenseAnalyticsService analyticsService,
+                                      CurrentUserResolver currentUser,
+                                      ExpenseETags eTags) {
+        this.analyticsService = analyticsService;
+        this.currentUser = currentUser;
+        this.eTags = eTags;
+    }
+
+    // ---------------- YEAR MATRIX ----------------
+    // 🔹 Replaces twelve /expenses/summary calls for a yearly trend chart
+    @GetMapping("/year")
+    public YearMatrixResponse getYearMatrix(
+            Authentication authentication,
+            ServletWebRequest webRequest,
+            @RequestParam int year,
+            @RequestParam(defaultValue = Money.DEFAULT_CURRENCY) String currency
+    ) {
+        Long userId = currentUser.resolveId(authentication);
+        if (eTags.checkNotModified(webRequest, userId)) {
+            return null;
+        }
+
+        return analyticsService.getYearMatrix(userId, currency, year);
+    }
+
+    // ---------------- RUNNING TOTALS ----------------
+    @GetMapping("/running-totals")
+    public RunningTotalsResponse getRunningTotals(
+            Authentication authentication,
+            ServletWebRequest webRequest,
+            @RequestParam YearMonth from,
+            @RequestParam YearMonth to,
+            @RequestParam(defaultValue = Money.DEFAULT_CURRENCY) String currency
+    ) {
+        Long userId = currentUser.resolveId(authentication);
+        if (eTags.checkNotModified(webRequest, userId)) {
+            return null;
+        }
+
+        return analyticsService.getRunningTotals(userId, currency, from, to);
+    }
+
+    // ---------------- TOP CATEGORIES ----------------
+    @GetMapping("/top-categories")
+    public TopCategoriesResponse getTopCategories(
+            Authentication authentication,
+            ServletWebRequest webRequest,
+            @RequestParam LocalDate from,
+            @RequestParam LocalDate to,
+            @RequestParam(defaultValue = "5") int limit,
+            @RequestParam(defaultValue = Money.DEFAULT_CURRENCY) String currency
+    ) {
+        Long userId = currentUser.resolveId(authentication);
+        if (eTags.checkNotModified(webRequest, userId)) {
+            return null;
+        }
+
+        return analyticsService.getTopCategories(userId, currency, from, to, limit);
+    }
+}
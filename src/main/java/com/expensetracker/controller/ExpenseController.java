@@ -1,52 +1,98 @@
 package com.expensetracker.controller;
 
+import com.expensetracker.dto.BatchDeleteRequest;
+import com.expensetracker.dto.BatchMutationResponse;
+import com.expensetracker.dto.BatchPatchRequest;
+import com.expensetracker.dto.BulkImportResponse;
+import com.expensetracker.dto.CursorPage;
 import com.expensetracker.dto.ExpenseRequest;
 import com.expensetracker.dto.ExpenseSummaryResponse;
 import com.expensetracker.dto.ExpenseResponse;
+import com.expensetracker.exception.InvalidSortException;
 import com.expensetracker.model.Expense;
+import com.expensetracker.model.Money;
 import com.expensetracker.model.User;
-import com.expensetracker.repository.UserRepository;
+import com.expensetracker.security.CurrentUserResolver;
+import com.expensetracker.service.ExpenseExportService;
+import com.expensetracker.service.ExpenseImportService;
+import com.expensetracker.service.ExpenseReadCache;
 import com.expensetracker.service.ExpenseService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/expenses")
 public class ExpenseController {
 
+    // 🔹 API sort names to entity attributes; amount is stored in minor units
+    private static final Map<String, String> SORT_PROPERTIES = Map.of(
+            "id", "id",
+            "title", "title",
+            "amount", "amountMinor",
+            "amountMinor", "amountMinor",
+            "currency", "currency",
+            "category", "category",
+            "date", "date",
+            "paymentMethod", "paymentMethod",
+            "createdAt", "createdAt"
+    );
+
     private final ExpenseService expenseService;
-    private final UserRepository userRepo;
+    private final ExpenseReadCache expenseReadCache;
+    private final ExpenseImportService expenseImportService;
+    private final ExpenseExportService expenseExportService;
+    private final CurrentUserResolver currentUser;
+    private final ExpenseETags eTags;
+    private final int maxPageSize;
 
-    public ExpenseController(ExpenseService expenseService, UserRepository userRepo) {
+    public ExpenseController(ExpenseService expenseService,
+                             ExpenseReadCache expenseReadCache,
+                             ExpenseImportService expenseImportService,
+                             ExpenseExportService expenseExportService,
+                             CurrentUserResolver currentUser,
+                             ExpenseETags eTags,
+                             @Value("${expense.page.max-size:100}") int maxPageSize) {
         this.expenseService = expenseService;
-        this.userRepo = userRepo;
+        this.expenseReadCache = expenseReadCache;
+        this.expenseImportService = expenseImportService;
+        this.expenseExportService = expenseExportService;
+        this.currentUser = currentUser;
+        this.eTags = eTags;
+        this.maxPageSize = maxPageSize;
     }
 
     // ---------------- CREATE ----------------
     @PostMapping
-    public ExpenseResponse addExpense(@Valid @RequestBody ExpenseRequest request) {
-
-        String email = (String) SecurityContextHolder
-                .getContext()
-                .getAuthentication()
-                .getPrincipal();
-
-        User user = userRepo.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public ExpenseResponse addExpense(
+            @Valid @RequestBody ExpenseRequest request,
+            Authentication authentication
+    ) {
+        User user = currentUser.resolve(authentication);
 
         Expense expense = new Expense();
         expense.setTitle(request.title);
-        expense.setAmount(request.amount);
+        expense.setCurrency(Money.currencyOrDefault(request.currency));
+        expense.setAmountMinor(Money.toMinor(request.amount, expense.getCurrency()));
         expense.setCategory(request.category);
         expense.setDate(request.date);
         expense.setPaymentMethod(request.paymentMethod);
@@ -55,14 +101,29 @@ public class ExpenseController {
 
         Expense saved = expenseService.addExpense(expense);
 
-        return new ExpenseResponse(
-                saved.getId(),
-                saved.getTitle(),
-                saved.getAmount(),
-                saved.getCategory(),
-                saved.getDate(),
-                saved.getPaymentMethod(),
-                saved.getNotes()
+        return ExpenseResponse.from(saved);
+    }
+
+    // ---------------- BULK CREATE ----------------
+    // JSON array, NDJSON or CSV; read and inserted incrementally
+    @PostMapping(
+            value = "/bulk",
+            consumes = {
+                    MediaType.APPLICATION_JSON_VALUE,
+                    "application/x-ndjson",
+                    "text/csv"
+            }
+    )
+    public BulkImportResponse importExpenses(
+            HttpServletRequest request,
+            Authentication authentication
+    ) throws IOException {
+        User user = currentUser.resolve(authentication);
+
+        return expenseImportService.importExpenses(
+                user,
+                request.getInputStream(),
+                MediaType.parseMediaType(request.getContentType())
         );
     }
 
@@ -70,27 +131,51 @@ public class ExpenseController {
     @GetMapping
     public Page<ExpenseResponse> getMyExpenses(
             Authentication authentication,
+            ServletWebRequest webRequest,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "5") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDir
     ) {
-        User user = userRepo.findByEmail(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        if (eTags.checkNotModified(webRequest, currentUser.resolveId(authentication))) {
+            return null;
+        }
 
-        Sort sort = Sort.by(
-                sortDir.equalsIgnoreCase("desc")
-                        ? Sort.Direction.DESC
-                        : Sort.Direction.ASC,
-                sortBy
+        User user = currentUser.resolve(authentication);
+
+        return expenseReadCache.getFilteredExpenseResponses(
+                user,
+                null,
+                null,
+                null,
+                PageRequest.of(page, pageSize(size), sort(sortBy, sortDir))
         );
+    }
 
-        return expenseService.getFilteredExpenseResponses(
+    // ---------------- KEYSET FETCH ----------------
+    // Opt-in with ?cursor= (empty for the first slice); always ordered by createdAt
+    @GetMapping(params = "cursor")
+    public CursorPage<ExpenseResponse> getMyExpensesAfter(
+            Authentication authentication,
+            ServletWebRequest webRequest,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "5") int size,
+            @RequestParam(defaultValue = "desc") String sortDir
+    ) {
+        if (eTags.checkNotModified(webRequest, currentUser.resolveId(authentication))) {
+            return null;
+        }
+
+        User user = currentUser.resolve(authentication);
+
+        return expenseService.getFilteredExpenseSlice(
                 user,
                 null,
                 null,
                 null,
-                PageRequest.of(page, size, sort)
+                cursor,
+                sortDir.equalsIgnoreCase("asc"),
+                pageSize(size)
         );
     }
 
@@ -98,6 +183,7 @@ public class ExpenseController {
     @GetMapping("/filter")
     public Page<ExpenseResponse> getFilteredExpenses(
             Authentication authentication,
+            ServletWebRequest webRequest,
             @RequestParam(required = false) String category,
             @RequestParam(required = false) LocalDate from,
             @RequestParam(required = false) LocalDate to,
@@ -106,36 +192,134 @@ public class ExpenseController {
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDir
     ) {
-        User user = userRepo.findByEmail(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        if (eTags.checkNotModified(webRequest, currentUser.resolveId(authentication))) {
+            return null;
+        }
 
-        Sort sort = Sort.by(
-                sortDir.equalsIgnoreCase("desc")
-                        ? Sort.Direction.DESC
-                        : Sort.Direction.ASC,
-                sortBy
+        User user = currentUser.resolve(authentication);
+
+        return expenseReadCache.getFilteredExpenseResponses(
+                user,
+                category,
+                from,
+                to,
+                PageRequest.of(page, pageSize(size), sort(sortBy, sortDir))
         );
+    }
 
-        return expenseService.getFilteredExpenseResponses(
+    // ---------------- FILTER (KEYSET) ----------------
+    @GetMapping(value = "/filter", params = "cursor")
+    public CursorPage<ExpenseResponse> getFilteredExpensesAfter(
+            Authentication authentication,
+            ServletWebRequest webRequest,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "5") int size,
+            @RequestParam(defaultValue = "desc") String sortDir
+    ) {
+        if (eTags.checkNotModified(webRequest, currentUser.resolveId(authentication))) {
+            return null;
+        }
+
+        User user = currentUser.resolve(authentication);
+
+        return expenseService.getFilteredExpenseSlice(
                 user,
                 category,
                 from,
                 to,
-                PageRequest.of(page, size, sort)
+                cursor,
+                sortDir.equalsIgnoreCase("asc"),
+                pageSize(size)
         );
     }
 
+    // ---------------- SEARCH ----------------
+    // Prefix match on every word of q over titles and notes, best match first
+    @GetMapping("/search")
+    public Page<ExpenseResponse> searchExpenses(
+            Authentication authentication,
+            ServletWebRequest webRequest,
+            @RequestParam String q,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "5") int size
+    ) {
+        if (eTags.checkNotModified(webRequest, currentUser.resolveId(authentication))) {
+            return null;
+        }
+
+        User user = currentUser.resolve(authentication);
+
+        return expenseService.searchExpenseResponses(
+                user,
+                q,
+                category,
+                from,
+                to,
+                PageRequest.of(page, pageSize(size))
+        );
+    }
+
+    // ---------------- EXPORT ----------------
+    // Streams the full history; gzip when the client accepts it
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportExpenses(
+            Authentication authentication,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        if (!ExpenseExportService.isSupported(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        User user = currentUser.resolve(authentication);
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                try (GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024)) {
+                    expenseExportService.export(user, format, compressed);
+                }
+            } else {
+                expenseExportService.export(user, format, out);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(ExpenseExportService.CSV.equals(format)
+                        ? MediaType.parseMediaType("text/csv")
+                        : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"expenses." + format + "\"")
+                // 🔹 Both encodings under one URL; shared caches must key on the request header
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
     // ---------------- SUMMARY ----------------
     @GetMapping("/summary")
     public List<ExpenseSummaryResponse> getMonthlySummary(
             Authentication authentication,
+            ServletWebRequest webRequest,
             @RequestParam int month,
             @RequestParam int year
     ) {
-        User user = userRepo.findByEmail(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        if (eTags.checkNotModified(webRequest, currentUser.resolveId(authentication))) {
+            return null;
+        }
 
-        return expenseService.getMonthlySummary(user, month, year);
+        User user = currentUser.resolve(authentication);
+
+        return expenseReadCache.getMonthlySummary(user, month, year);
     }
 
     // ---------------- DELETE ----------------
@@ -145,40 +329,114 @@ public class ExpenseController {
             @PathVariable Long id,
             Authentication authentication
     ) {
-        User user = userRepo.findByEmail(authentication.getName())
-                .orElseThrow();
+        User user = currentUser.resolve(authentication);
 
         expenseService.deleteExpense(user, id);
     }
 
     // ---------------- UPDATE ----------------
+    // 🔹 "Prefer: return=minimal" (RFC 7240) answers 204 and skips reading the row back
     @PutMapping("/{id}")
-    public ExpenseResponse updateExpense(
+    public ResponseEntity<ExpenseResponse> updateExpense(
             @PathVariable Long id,
             @Valid @RequestBody ExpenseRequest request,
+            @RequestHeader(value = "Prefer", required = false) String prefer,
             Authentication authentication
     ) {
-        User user = userRepo.findByEmail(authentication.getName())
-                .orElseThrow();
+        User user = currentUser.resolve(authentication);
 
         Expense updated = new Expense();
         updated.setTitle(request.title);
-        updated.setAmount(request.amount);
+        updated.setCurrency(Money.currencyOrDefault(request.currency));
+        updated.setAmountMinor(Money.toMinor(request.amount, updated.getCurrency()));
         updated.setCategory(request.category);
         updated.setDate(request.date);
         updated.setPaymentMethod(request.paymentMethod);
         updated.setNotes(request.notes);
 
-        Expense saved = expenseService.updateExpense(user, id, updated);
+        if (prefer != null && prefer.contains("return=minimal")) {
+            expenseService.updateExpense(user, id, updated);
+            return ResponseEntity.noContent()
+                    .header("Preference-Applied", "return=minimal")
+                    .build();
+        }
+
+        return ResponseEntity.ok(expenseService.updateExpenseAndRead(user, id, updated));
+    }
+
+    // ---------------- BATCH ----------------
+    // 🔹 One transaction and one set-based statement per batch, with a per-id outcome
+    @PostMapping("/batch-delete")
+    public BatchMutationResponse deleteExpenses(
+            @Valid @RequestBody BatchDeleteRequest request,
+            Authentication authentication
+    ) {
+        User user = currentUser.resolve(authentication);
+        return expenseService.deleteExpenses(user, request.ids);
+    }
+
+    @PatchMapping("/batch")
+    public BatchMutationResponse patchExpenses(
+            @Valid @RequestBody BatchPatchRequest request,
+            Authentication authentication
+    ) {
+        User user = currentUser.resolve(authentication);
+        return expenseService.patchExpenses(
+                user, request.ids, request.category, request.paymentMethod, request.notes);
+    }
+
+    // 🔹 RFC 9110 Accept-Encoding: an explicit gzip entry wins over "*"; q=0 means "not acceptable"
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        Double gzip = null;
+        Double any = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        q = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException ex) {
+                        q = 0;
+                    }
+                }
+            }
+
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = gzip == null ? q : Math.max(gzip, q);
+            } else if (coding.equals("*")) {
+                any = q;
+            }
+        }
+
+        if (gzip != null) {
+            return gzip > 0;
+        }
+        return any != null && any > 0;
+    }
+
+    private static Sort sort(String sortBy, String sortDir) {
+        String property = SORT_PROPERTIES.get(sortBy);
+        if (property == null) {
+            throw new InvalidSortException("Cannot sort by " + sortBy);
+        }
 
-        return new ExpenseResponse(
-                saved.getId(),
-                saved.getTitle(),
-                saved.getAmount(),
-                saved.getCategory(),
-                saved.getDate(),
-                saved.getPaymentMethod(),
-                saved.getNotes()
+        return Sort.by(
+                sortDir.equalsIgnoreCase("desc")
+                        ? Sort.Direction.DESC
+                        : Sort.Direction.ASC,
+                property
         );
     }
-}
\ No newline at end of file
+
+    // 🔹 Hard cap whatever the client asks for; a huge page would hold a pooled connection for the whole read
+    private int pageSize(int size) {
+        return Math.min(Math.max(size, 1), maxPageSize);
+    }
+}
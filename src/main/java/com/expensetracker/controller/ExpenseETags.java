@@ -0,0 +1,58 @@
+package com.expensetracker.controller;
+
+import com.expensetracker.service.ExpenseDataVersion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Conditional GET for expense reads.
+ * <p>
+ * The ETag is the caller's {@link ExpenseDataVersion}, so a current client is
+ * answered with 304 before any query runs. Outcomes are counted as
+ * {@code expense.conditional.requests{outcome=not_modified|modified}} and the
+ * share of 304s is published as {@code expense.conditional.not_modified.ratio}.
+ */
+@Component
+public class ExpenseETags {
+
+    private final ExpenseDataVersion dataVersion;
+    private final Counter notModified;
+    private final Counter modified;
+
+    public ExpenseETags(ExpenseDataVersion dataVersion, MeterRegistry meterRegistry) {
+        this.dataVersion = dataVersion;
+        this.notModified = Counter.builder("expense.conditional.requests")
+                .tag("outcome", "not_modified")
+                .register(meterRegistry);
+        this.modified = Counter.builder("expense.conditional.requests")
+                .tag("outcome", "modified")
+                .register(meterRegistry);
+
+        Gauge.builder("expense.conditional.not_modified.ratio", this, ExpenseETags::notModifiedRatio)
+                .register(meterRegistry);
+    }
+
+    // 🔹 True when a 304 has been prepared and the handler should return null
+    public boolean checkNotModified(ServletWebRequest request, Long userId) {
+        // Responses differ per token, so shared caches must not reuse them
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+
+        String etag = "\"" + dataVersion.current(userId) + "\"";
+        if (request.checkNotModified(etag)) {
+            notModified.increment();
+            return true;
+        }
+
+        modified.increment();
+        return false;
+    }
+
+    private double notModifiedRatio() {
+        double total = notModified.count() + modified.count();
+        return total == 0 ? 0 : notModified.count() / total;
+    }
+}
@@ -3,68 +3,90 @@ package com.expensetracker.controller;
 import com.expensetracker.model.User;
 import com.expensetracker.repository.UserRepository;
 import com.expensetracker.dto.LoginRequest;
+import com.expensetracker.security.CurrentUserResolver;
 import com.expensetracker.security.JwtUtil;
+import com.expensetracker.security.PasswordHasher;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @RestController
 @RequestMapping("/users")
 public class UserController {
 
     private final UserRepository userRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final CurrentUserResolver currentUser;
+    private final Executor taskExecutor;
 
     public UserController(UserRepository userRepository,
-                          BCryptPasswordEncoder passwordEncoder) {
+                          PasswordHasher passwordHasher,
+                          CurrentUserResolver currentUser,
+                          @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                          Executor taskExecutor) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
+        this.currentUser = currentUser;
+        this.taskExecutor = taskExecutor;
     }
 
     // ---------------- REGISTER ----------------
+    // Hashing runs on the PasswordHasher pool; the request thread is released meanwhile.
+    // 🔹 What follows the hash runs on the application task executor, never holding a hash worker on JDBC
     @PostMapping("/register")
-    public ResponseEntity<?> register(@RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<?>> register(@RequestBody LoginRequest request) {
 
-        if (userRepository.findByEmail(request.getEmail()).isPresent()) {
-            return ResponseEntity
+        if (userRepository.existsByEmail(request.getEmail())) {
+            return CompletableFuture.completedFuture(ResponseEntity
                     .status(HttpStatus.CONFLICT)
-                    .body("Email already registered");
+                    .body("Email already registered"));
         }
 
-        User user = new User();
-        user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        return passwordHasher.encode(request.getPassword()).thenApplyAsync(hash -> {
+            User user = new User();
+            user.setEmail(request.getEmail());
+            user.setPassword(hash);
 
-        userRepository.save(user);
+            userRepository.save(user);
+            currentUser.remember(user);
 
-        return ResponseEntity
-                .status(HttpStatus.CREATED)
-                .body("User registered successfully");
+            return ResponseEntity
+                    .status(HttpStatus.CREATED)
+                    .body("User registered successfully");
+        }, taskExecutor);
     }
 
     // ---------------- LOGIN ----------------
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody LoginRequest request) {
 
         var userOpt = userRepository.findByEmail(request.getEmail());
 
         if (userOpt.isEmpty()) {
-            return ResponseEntity
+            return CompletableFuture.completedFuture(ResponseEntity
                     .status(HttpStatus.UNAUTHORIZED)
-                    .body("Invalid email or password");
+                    .body("Invalid email or password"));
         }
 
         User user = userOpt.get();
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-            return ResponseEntity
-                    .status(HttpStatus.UNAUTHORIZED)
-                    .body("Invalid email or password");
-        }
+        return passwordHasher.matches(request.getPassword(), user.getPassword()).thenApplyAsync(matches -> {
+            if (!matches) {
+                return ResponseEntity
+                        .status(HttpStatus.UNAUTHORIZED)
+                        .body("Invalid email or password");
+            }
+
+            currentUser.remember(user);
 
-        String token = JwtUtil.generateToken(user.getEmail());
-        return ResponseEntity.ok(token);
+            String token = JwtUtil.generateToken(user.getId(), user.getEmail());
+            return ResponseEntity.ok(token);
+        }, taskExecutor);
     }
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.expensetracker.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public class BatchDeleteRequest {
+
+    @NotEmpty(message = "At least one id is required")
+    @Size(max = BatchPatchRequest.MAX_IDS, message = "At most " + BatchPatchRequest.MAX_IDS + " ids per batch")
+    public List<@NotNull(message = "Ids must not be null") Long> ids;
+}
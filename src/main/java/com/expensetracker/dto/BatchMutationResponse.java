@@ -0,0 +1,55 @@
+package com.expensetracker.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchMutationResponse {
+
+    public enum Status {
+        DELETED,
+        UPDATED,
+        // 🔹 Also for ids owned by someone else, so existence does not leak
+        NOT_FOUND
+    }
+
+    private int affected;
+    private final List<Outcome> results = new ArrayList<>();
+
+    public void outcome(Long id, Status status) {
+        results.add(new Outcome(id, status));
+        if (status != Status.NOT_FOUND) {
+            affected++;
+        }
+    }
+
+    public int getRequested() {
+        return results.size();
+    }
+
+    public int getAffected() {
+        return affected;
+    }
+
+    public List<Outcome> getResults() {
+        return results;
+    }
+
+    public static class Outcome {
+
+        private final Long id;
+        private final Status status;
+
+        public Outcome(Long id, Status status) {
+            this.id = id;
+            this.status = status;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+    }
+}
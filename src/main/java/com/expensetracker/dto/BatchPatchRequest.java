@@ -0,0 +1,35 @@
+package com.expensetracker.dto;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Fields to set on every listed expense. A field left out (or {@code null})
+ * keeps each expense's current value.
+ */
+public class BatchPatchRequest {
+
+    // 🔹 Keeps the IN list and the per-id response bounded
+    public static final int MAX_IDS = 500;
+
+    @NotEmpty(message = "At least one id is required")
+    @Size(max = MAX_IDS, message = "At most " + MAX_IDS + " ids per batch")
+    public List<@NotNull(message = "Ids must not be null") Long> ids;
+
+    @Pattern(regexp = ".*\\S.*", message = "Category must not be blank")
+    public String category;
+
+    @Pattern(regexp = ".*\\S.*", message = "Payment method must not be blank")
+    public String paymentMethod;
+
+    public String notes;
+
+    @AssertTrue(message = "At least one of category, paymentMethod or notes is required")
+    public boolean isPatchPresent() {
+        return category != null || paymentMethod != null || notes != null;
+    }
+}
@@ -0,0 +1,66 @@
+package com.expensetracker.dto;
+
+import com.expensetracker.model.Budget;
+import com.expensetracker.model.Money;
+
+public class BudgetStatusResponse {
+
+    public enum Status {
+        UNDER,
+        WARNING,
+        EXCEEDED
+    }
+
+    private final Long id;
+    private final String category;
+    private final String currency;
+    private final long limitMinor;
+    private final long spentMinor;
+
+    // 🔹 Also used as a JPQL constructor expression, see BudgetRepository.getStatus
+    public BudgetStatusResponse(Long id, String category, String currency, Long limitMinor, Long spentMinor) {
+        this.id = id;
+        this.category = category;
+        this.currency = currency;
+        this.limitMinor = limitMinor;
+        this.spentMinor = spentMinor;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public Double getLimit() {
+        return Money.toMajor(limitMinor, currency);
+    }
+
+    public Double getSpent() {
+        return Money.toMajor(spentMinor, currency);
+    }
+
+    public Double getRemaining() {
+        return Money.toMajor(limitMinor - spentMinor, currency);
+    }
+
+    public int getPercentUsed() {
+        return (int) Math.min(Integer.MAX_VALUE, spentMinor * 100 / limitMinor);
+    }
+
+    public Status getStatus() {
+        if (spentMinor >= Budget.threshold(limitMinor, Budget.EXCEEDED_PERCENT)) {
+            return Status.EXCEEDED;
+        }
+        if (spentMinor >= Budget.threshold(limitMinor, Budget.WARNING_PERCENT)) {
+            return Status.WARNING;
+        }
+        return Status.UNDER;
+    }
+}
@@ -0,0 +1,75 @@
+package com.expensetracker.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkImportResponse {
+
+    private int received;
+    private int inserted;
+    private boolean aborted;
+    private final List<RowError> errors = new ArrayList<>();
+
+    public void rowReceived() {
+        received++;
+    }
+
+    public void rowsInserted(int count) {
+        inserted += count;
+    }
+
+    public void rowFailed(long row, List<String> messages) {
+        errors.add(new RowError(row, messages));
+    }
+
+    // 🔹 Unreadable input: rows after this one were not looked at
+    public void abort(long row, String message) {
+        aborted = true;
+        rowFailed(row, List.of(message));
+    }
+
+    // 🔹 The database rejected these rows; rows before them are saved, rows after were not read
+    public void chunkFailed(long firstRow, long lastRow) {
+        aborted = true;
+        rowFailed(firstRow, List.of("Rows " + firstRow + "-" + lastRow + " could not be saved; the import stopped here"));
+    }
+
+    public int getReceived() {
+        return received;
+    }
+
+    public int getInserted() {
+        return inserted;
+    }
+
+    public int getFailed() {
+        return errors.size();
+    }
+
+    public boolean isAborted() {
+        return aborted;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public static class RowError {
+
+        private final long row;
+        private final List<String> errors;
+
+        public RowError(long row, List<String> errors) {
+            this.row = row;
+            this.errors = errors;
+        }
+
+        public long getRow() {
+            return row;
+        }
+
+        public List<String> getErrors() {
+            return errors;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.expensetracker.dto;
+
+import java.util.List;
+
+/**
+ * One slice of a keyset-paginated listing. There is no total count;
+ * {@code nextCursor} is {@code null} on the last slice.
+ */
+public class CursorPage<T> {
+
+    private final List<T> content;
+    private final String nextCursor;
+
+    public CursorPage(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public int getSize() {
+        return content.size();
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+}
@@ -2,6 +2,7 @@ package com.expensetracker.dto;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
 import java.time.LocalDate;
 
@@ -14,6 +15,10 @@ public class ExpenseRequest {
     @Positive(message = "Amount must be greater than 0")
     public Double amount;
 
+    // 🔹 ISO 4217 code; omitted means Money.DEFAULT_CURRENCY
+    @Pattern(regexp = "[A-Z]{3}", message = "Currency must be a three-letter ISO code")
+    public String currency;
+
     @NotBlank(message = "Category is required")
     public String category;
 
@@ -1,32 +1,59 @@
 package com.expensetracker.dto;
 
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.Money;
+
+import java.io.Serializable;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
-public class ExpenseResponse {
+// 🔹 Serializable so it can live in the distributed read cache
+public class ExpenseResponse implements Serializable {
 
     public Long id;
     public String title;
     public Double amount;
+    public String currency;
     public String category;
     public LocalDate date;
     public String paymentMethod;
     public String notes;
+    public LocalDateTime createdAt;
 
+    // 🔹 Also used as a JPQL constructor expression, see ExpenseRepositoryCustom
     public ExpenseResponse(
             Long id,
             String title,
-            Double amount,
+            Long amountMinor,
+            String currency,
             String category,
             LocalDate date,
             String paymentMethod,
-            String notes
+            String notes,
+            LocalDateTime createdAt
     ) {
         this.id = id;
         this.title = title;
-        this.amount = amount;
+        this.amount = Money.toMajor(amountMinor, currency);
+        this.currency = currency;
         this.category = category;
         this.date = date;
         this.paymentMethod = paymentMethod;
         this.notes = notes;
+        this.createdAt = createdAt;
+    }
+
+    public static ExpenseResponse from(Expense expense) {
+        return new ExpenseResponse(
+                expense.getId(),
+                expense.getTitle(),
+                expense.getAmountMinor(),
+                expense.getCurrency(),
+                expense.getCategory(),
+                expense.getDate(),
+                expense.getPaymentMethod(),
+                expense.getNotes(),
+                expense.getCreatedAt()
+        );
     }
-}
\ No newline at end of file
+}
@@ -1,20 +1,38 @@
 package com.expensetracker.dto;
 
-public class ExpenseSummaryResponse {
+import com.expensetracker.model.Money;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.io.Serializable;
+
+// 🔹 Serializable so it can live in the distributed read cache
+public class ExpenseSummaryResponse implements Serializable {
 
     private String category;
-    private Double total;
+    private String currency;
+    private long totalMinor;
 
-    public ExpenseSummaryResponse(String category, Double total) {
+    // 🔹 Also used as a JPQL constructor expression over minor-unit sums
+    public ExpenseSummaryResponse(String category, String currency, Long totalMinor) {
         this.category = category;
-        this.total = total;
+        this.currency = currency;
+        this.totalMinor = totalMinor;
     }
 
     public String getCategory() {
         return category;
     }
 
+    public String getCurrency() {
+        return currency;
+    }
+
     public Double getTotal() {
-        return total;
+        return Money.toMajor(totalMinor, currency);
+    }
+
+    @JsonIgnore
+    public long getTotalMinor() {
+        return totalMinor;
     }
-}
\ No newline at end of file
+}
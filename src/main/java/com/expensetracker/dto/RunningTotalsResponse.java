@@ -0,0 +1,39 @@
+package com.expensetracker.dto;
+
+import java.util.List;
+
+/**
+ * Month-by-month spending over a range, in columnar form: index {@code i} of
+ * {@code totals} and {@code cumulative} belongs to {@code months[i]}
+ * ({@code yyyy-MM}). Months without spending are present with a zero total.
+ */
+public class RunningTotalsResponse {
+
+    private final String currency;
+    private final List<String> months;
+    private final double[] totals;
+    private final double[] cumulative;
+
+    public RunningTotalsResponse(String currency, List<String> months, double[] totals, double[] cumulative) {
+        this.currency = currency;
+        this.months = months;
+        this.totals = totals;
+        this.cumulative = cumulative;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public List<String> getMonths() {
+        return months;
+    }
+
+    public double[] getTotals() {
+        return totals;
+    }
+
+    public double[] getCumulative() {
+        return cumulative;
+    }
+}
@@ -0,0 +1,59 @@
+package com.expensetracker.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The largest categories over a date range, in columnar form: {@code totals[i]}
+ * belongs to {@code categories[i]}, largest first. {@code otherTotal} is
+ * everything outside the top N, so the parts always add up to {@code total}.
+ */
+public class TopCategoriesResponse {
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final String currency;
+    private final List<String> categories;
+    private final double[] totals;
+    private final double otherTotal;
+    private final double total;
+
+    public TopCategoriesResponse(LocalDate from, LocalDate to, String currency, List<String> categories,
+                                 double[] totals, double otherTotal, double total) {
+        this.from = from;
+        this.to = to;
+        this.currency = currency;
+        this.categories = categories;
+        this.totals = totals;
+        this.otherTotal = otherTotal;
+        this.total = total;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public List<String> getCategories() {
+        return categories;
+    }
+
+    public double[] getTotals() {
+        return totals;
+    }
+
+    public double getOtherTotal() {
+        return otherTotal;
+    }
+
+    public double getTotal() {
+        return total;
+    }
+}
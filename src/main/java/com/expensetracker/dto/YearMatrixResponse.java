@@ -0,0 +1,52 @@
+package com.expensetracker.dto;
+
+import java.util.List;
+
+/**
+ * One year of spending as a category-by-month matrix, in columnar form:
+ * {@code totals[c][m]} is category {@code categories[c]} in month {@code m + 1}.
+ * Categories without spending that year are left out.
+ */
+public class YearMatrixResponse {
+
+    private final int year;
+    private final String currency;
+    private final List<String> categories;
+    private final double[][] totals;
+    private final double[] monthTotals;
+    private final double total;
+
+    public YearMatrixResponse(int year, String currency, List<String> categories,
+                              double[][] totals, double[] monthTotals, double total) {
+        this.year = year;
+        this.currency = currency;
+        this.categories = categories;
+        this.totals = totals;
+        this.monthTotals = monthTotals;
+        this.total = total;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public List<String> getCategories() {
+        return categories;
+    }
+
+    public double[][] getTotals() {
+        return totals;
+    }
+
+    public double[] getMonthTotals() {
+        return monthTotals;
+    }
+
+    public double getTotal() {
+        return total;
+    }
+}
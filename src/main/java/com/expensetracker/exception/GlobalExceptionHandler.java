@@ -1,11 +1,15 @@
 package com.expensetracker.exception;
 
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.sql.SQLTransientConnectionException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -29,4 +33,83 @@ public class GlobalExceptionHandler {
 
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
-}
\ No newline at end of file
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Map<String, List<String>>> handleInvalidCursor(
+            InvalidCursorException ex
+    ) {
+        Map<String, List<String>> response = new HashMap<>();
+        response.put("errors", List.of(ex.getMessage()));
+
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidRangeException.class)
+    public ResponseEntity<Map<String, List<String>>> handleInvalidRange(
+            InvalidRangeException ex
+    ) {
+        Map<String, List<String>> response = new HashMap<>();
+        response.put("errors", List.of(ex.getMessage()));
+
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidSortException.class)
+    public ResponseEntity<Map<String, List<String>>> handleInvalidSort(
+            InvalidSortException ex
+    ) {
+        Map<String, List<String>> response = new HashMap<>();
+        response.put("errors", List.of(ex.getMessage()));
+
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidAmountException.class)
+    public ResponseEntity<Map<String, List<String>>> handleInvalidAmount(
+            InvalidAmountException ex
+    ) {
+        Map<String, List<String>> response = new HashMap<>();
+        response.put("errors", List.of(ex.getMessage()));
+
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidSearchException.class)
+    public ResponseEntity<Map<String, List<String>>> handleInvalidSearch(
+            InvalidSearchException ex
+    ) {
+        Map<String, List<String>> response = new HashMap<>();
+        response.put("errors", List.of(ex.getMessage()));
+
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    // 🔹 Pool or bulkhead exhausted: tell the client to back off instead of a 500
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<Map<String, List<String>>> handleDatabaseBusy(
+            CannotCreateTransactionException ex
+    ) {
+        if (!(NestedExceptionUtils.getMostSpecificCause(ex) instanceof SQLTransientConnectionException)) {
+            throw ex;
+        }
+
+        Map<String, List<String>> response = new HashMap<>();
+        response.put("errors", List.of("Service busy, please retry"));
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<Map<String, List<String>>> handleServiceBusy(
+            ServiceBusyException ex
+    ) {
+        Map<String, List<String>> response = new HashMap<>();
+        response.put("errors", List.of(ex.getMessage()));
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+}
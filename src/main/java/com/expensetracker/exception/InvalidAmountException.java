@@ -0,0 +1,8 @@
+package com.expensetracker.exception;
+
+public class InvalidAmountException extends RuntimeException {
+
+    public InvalidAmountException(String message) {
+        super(message);
+    }
+}
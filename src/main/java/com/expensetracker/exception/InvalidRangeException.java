@@ -0,0 +1,8 @@
+package com.expensetracker.exception;
+
+public class InvalidRangeException extends RuntimeException {
+
+    public InvalidRangeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.expensetracker.exception;
+
+public class InvalidSortException extends RuntimeException {
+
+    public InvalidSortException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,65 @@
+package com.expensetracker.migration;
+
+import com.expensetracker.model.Money;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Moves expense amounts from a {@code double} column to exact minor units.
+ * <p>
+ * {@code expense.amount} becomes {@code amount_minor} plus a {@code currency}
+ * code; existing rows are taken to be in {@link Money#DEFAULT_CURRENCY} and
+ * are rounded to its minor unit. The monthly rollup is derived data, so its
+ * table is dropped: V2 recreates it with the new columns and
+ * {@code MonthlySummaryReconcileJob} rebuilds it from the migrated expenses
+ * on startup.
+ * <p>
+ * Runs before Hibernate validates the schema, and does nothing on a database
+ * that never had the {@code double} column.
+ */
+public class V1__FixedPointMoney extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        if (!hasColumn(connection, "expense", "amount")) {
+            return;
+        }
+
+        long scale = (long) Math.pow(10, Money.fractionDigits(Money.DEFAULT_CURRENCY));
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE expense ADD COLUMN amount_minor BIGINT");
+            statement.execute("ALTER TABLE expense ADD COLUMN currency VARCHAR(3)");
+            statement.executeUpdate("UPDATE expense SET amount_minor = ROUND(amount * " + scale + "), "
+                    + "currency = '" + Money.DEFAULT_CURRENCY + "'");
+            statement.execute("ALTER TABLE expense ALTER COLUMN amount_minor SET NOT NULL");
+            statement.execute("ALTER TABLE expense ALTER COLUMN currency SET NOT NULL");
+            statement.execute("ALTER TABLE expense DROP COLUMN amount");
+
+            if (hasColumn(connection, "monthly_category_total", "total")) {
+                statement.execute("DROP TABLE monthly_category_total");
+            }
+        }
+    }
+
+    private static boolean hasColumn(Connection connection, String table, String column) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        // Unquoted identifiers are stored lower case by PostgreSQL and upper case by default H2
+        for (String[] names : new String[][]{{table, column}, {table.toUpperCase(), column.toUpperCase()}}) {
+            try (ResultSet columns = metaData.getColumns(
+                    connection.getCatalog(), connection.getSchema(), names[0], names[1])) {
+                if (columns.next()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
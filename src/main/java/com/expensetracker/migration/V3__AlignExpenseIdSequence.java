@@ -0,0 +1,49 @@
+package com.expensetracker.migration;
+
+import com.expensetracker.model.Expense;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Moves {@code expense_seq} past ids that were assigned by the old IDENTITY
+ * column, so pooled sequence ids never collide with existing rows.
+ * <p>
+ * Used to run on every startup; since every id after this version comes from
+ * the sequence, once is enough. Does nothing when the sequence is already
+ * ahead, as on a new database.
+ */
+public class V3__AlignExpenseIdSequence extends BaseJavaMigration {
+
+    static final String SEQUENCE = "expense_seq";
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        boolean postgres = connection.getMetaData().getDatabaseProductName().contains("PostgreSQL");
+
+        try (Statement statement = connection.createStatement()) {
+            long maxId = queryLong(statement, "SELECT COALESCE(MAX(id), 0) FROM expense");
+            long next = queryLong(statement, postgres
+                    ? "SELECT nextval('" + SEQUENCE + "')"
+                    : "SELECT NEXT VALUE FOR " + SEQUENCE);
+
+            // Pooled optimizer hands out (value - allocationSize, value]
+            long lowestNextId = next - Expense.ID_ALLOCATION_SIZE + 1;
+
+            if (maxId >= lowestNextId) {
+                statement.execute("ALTER SEQUENCE " + SEQUENCE + " RESTART WITH " + (maxId + Expense.ID_ALLOCATION_SIZE));
+            }
+        }
+    }
+
+    private static long queryLong(Statement statement, String sql) throws Exception {
+        try (ResultSet result = statement.executeQuery(sql)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.expensetracker.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+/**
+ * Rebuilds {@code idx_search_term_user_token} on PostgreSQL with
+ * {@code varchar_pattern_ops} on the token.
+ * <p>
+ * Under a non-C collation a plain btree cannot serve
+ * {@code token LIKE 'abc%'}, so search read every term of the user and
+ * filtered them. The pattern index serves the prefix and still serves
+ * equality. Built concurrently, outside a transaction, so writes to the
+ * table are not blocked. Other databases keep the plain index from V2.
+ */
+public class V4__SearchTermPrefixIndex extends BaseJavaMigration {
+
+    static final String INDEX = "idx_search_term_user_token";
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        if (!connection.getMetaData().getDatabaseProductName().contains("PostgreSQL")) {
+            return;
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + INDEX + "_prefix"
+                    + " ON expense_search_term (user_id, token varchar_pattern_ops)");
+            statement.execute("DROP INDEX CONCURRENTLY IF EXISTS " + INDEX);
+            statement.execute("ALTER INDEX " + INDEX + "_prefix RENAME TO " + INDEX);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.expensetracker.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Monthly spending limit for one category and currency, in minor units.
+ * Applies to every calendar month; spending against it is read from the
+ * matching {@link MonthlyCategoryTotal} bucket.
+ */
+@Entity
+@Table(
+        name = "budget",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_budget",
+                columnNames = {"user_id", "category", "currency"}
+        )
+)
+public class Budget {
+
+    public static final int WARNING_PERCENT = 80;
+    public static final int EXCEEDED_PERCENT = 100;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String category;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(name = "limit_minor", nullable = false)
+    private long limitMinor;
+
+    protected Budget() {
+    }
+
+    public Budget(Long userId, String category, String currency, long limitMinor) {
+        this.userId = userId;
+        this.category = category;
+        this.currency = currency;
+        this.limitMinor = limitMinor;
+    }
+
+    // 🔹 Smallest spend that reaches percent of the limit
+    public static long threshold(long limitMinor, int percent) {
+        return (Math.multiplyExact(limitMinor, percent) + 99) / 100;
+    }
+
+    // ===== Getters & Setters =====
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public long getLimitMinor() {
+        return limitMinor;
+    }
+
+    public void setLimitMinor(long limitMinor) {
+        this.limitMinor = limitMinor;
+    }
+}
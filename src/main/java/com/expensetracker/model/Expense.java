@@ -2,23 +2,44 @@ package com.expensetracker.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+// 🔹 Managed-entity updates write only the dirty columns
 @Entity
-@Table(name = "expense")
+@DynamicUpdate
+@Table(
+        name = "expense",
+        indexes = {
+                // 🔹 Date-range filters
+                @Index(name = "idx_expense_user_date", columnList = "user_id, date"),
+                // 🔹 Category filter, optionally with a date range
+                @Index(name = "idx_expense_user_category_date", columnList = "user_id, category, date"),
+                // 🔹 Default listing order
+                @Index(name = "idx_expense_user_created_at", columnList = "user_id, created_at")
+        }
+)
 public class Expense {
 
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // 🔹 Pooled sequence so Hibernate can batch inserts (IDENTITY cannot)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expense_seq")
+    @SequenceGenerator(name = "expense_seq", sequenceName = "expense_seq", allocationSize = Expense.ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
     private String title;
 
-    @Column(nullable = false)
-    private double amount;
+    // 🔹 Minor units of currency (cents for USD), see Money
+    @Column(name = "amount_minor", nullable = false)
+    private long amountMinor;
+
+    @Column(nullable = false, length = 3)
+    private String currency = Money.DEFAULT_CURRENCY;
 
     @Column(nullable = false)
     private String category;
@@ -67,12 +88,20 @@ public class Expense {
         this.title = title;
     }
 
-    public double getAmount() {
-        return amount;
+    public long getAmountMinor() {
+        return amountMinor;
+    }
+
+    public void setAmountMinor(long amountMinor) {
+        this.amountMinor = amountMinor;
+    }
+
+    public String getCurrency() {
+        return currency;
     }
 
-    public void setAmount(double amount) {
-        this.amount = amount;
+    public void setCurrency(String currency) {
+        this.currency = currency;
     }
 
     public String getCategory() {
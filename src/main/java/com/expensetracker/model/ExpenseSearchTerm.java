@@ -0,0 +1,144 @@
+package com.expensetracker.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * One entry of the inverted index behind {@code GET /expenses/search}: a
+ * normalized token that occurs in an expense's title or notes, with its
+ * weight in that expense.
+ * Maintained by {@code ExpenseSearchIndex} on every write, in the same
+ * transaction, so search never sees a token the expense no longer has.
+ */
+@Entity
+@IdClass(ExpenseSearchTerm.Key.class)
+@Table(
+        name = "expense_search_term",
+        indexes = {
+                // 🔹 Prefix lookup: user_id = ? AND token LIKE 'abc%'; varchar_pattern_ops on PostgreSQL (V4)
+                @Index(name = "idx_search_term_user_token", columnList = "user_id, token")
+        }
+)
+public class ExpenseSearchTerm {
+
+    public static final int MAX_TOKEN_LENGTH = 64;
+    public static final int TITLE_WEIGHT = 3;
+    public static final int NOTES_WEIGHT = 1;
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    @Id
+    @Column(name = "expense_id", nullable = false)
+    private Long expenseId;
+
+    @Id
+    @Column(nullable = false, length = MAX_TOKEN_LENGTH)
+    private String token;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private int weight;
+
+    protected ExpenseSearchTerm() {
+    }
+
+    public ExpenseSearchTerm(Long expenseId, String token, Long userId, int weight) {
+        this.expenseId = expenseId;
+        this.token = token;
+        this.userId = userId;
+        this.weight = weight;
+    }
+
+    /**
+     * Index entries for one expense: every distinct token, weighted by where
+     * and how often it occurs.
+     */
+    public static List<ExpenseSearchTerm> of(Long userId, Long expenseId, String title, String notes) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String token : tokens(title)) {
+            weights.merge(token, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String token : tokens(notes)) {
+            weights.merge(token, NOTES_WEIGHT, Integer::sum);
+        }
+
+        List<ExpenseSearchTerm> terms = new ArrayList<>(weights.size());
+        weights.forEach((token, weight) -> terms.add(new ExpenseSearchTerm(expenseId, token, userId, weight)));
+        return terms;
+    }
+
+    // 🔹 Lower-case letters and digits with accents removed; used for text and queries alike
+    public static List<String> tokens(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token.length() > MAX_TOKEN_LENGTH ? token.substring(0, MAX_TOKEN_LENGTH) : token);
+            }
+        }
+        return tokens;
+    }
+
+    // ===== Getters =====
+
+    public Long getExpenseId() {
+        return expenseId;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public static class Key implements Serializable {
+
+        private Long expenseId;
+        private String token;
+
+        protected Key() {
+        }
+
+        public Key(Long expenseId, String token) {
+            this.expenseId = expenseId;
+            this.token = token;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key
+                    && Objects.equals(expenseId, key.expenseId)
+                    && Objects.equals(token, key.token);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(expenseId, token);
+        }
+    }
+}
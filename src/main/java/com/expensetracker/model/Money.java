@@ -0,0 +1,52 @@
+package com.expensetracker.model;
+
+import com.expensetracker.exception.InvalidAmountException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+/**
+ * Amounts are stored as a whole number of the currency's minor unit (cents
+ * for USD, yen for JPY) so that sums in SQL and in memory are exact. The API
+ * still speaks decimal amounts; these helpers convert at the edges.
+ */
+public final class Money {
+
+    public static final String DEFAULT_CURRENCY = "USD";
+
+    private Money() {
+    }
+
+    public static String currencyOrDefault(String currency) {
+        return currency != null ? currency : DEFAULT_CURRENCY;
+    }
+
+    // 🔹 Extra decimals are rounded half-up, e.g. 12.345 USD -> 1235
+    public static long toMinor(double amount, String currency) {
+        try {
+            return BigDecimal.valueOf(amount)
+                    .setScale(fractionDigits(currency), RoundingMode.HALF_UP)
+                    .unscaledValue()
+                    .longValueExact();
+        } catch (ArithmeticException ex) {
+            throw new InvalidAmountException("Amount is out of range");
+        }
+    }
+
+    public static double toMajor(long minor, String currency) {
+        return BigDecimal.valueOf(minor, fractionDigits(currency)).doubleValue();
+    }
+
+    public static int fractionDigits(String currency) {
+        try {
+            int digits = Currency.getInstance(currency).getDefaultFractionDigits();
+            if (digits >= 0) {
+                return digits;
+            }
+        } catch (IllegalArgumentException ex) {
+            // fall through
+        }
+        throw new InvalidAmountException("Unsupported currency: " + currency);
+    }
+}
@@ -0,0 +1,101 @@
+package com.expensetracker.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Running total of a user's expenses per (year, month, category, currency),
+ * in minor units.
+ * Maintained by {@code ExpenseService} on every write so the monthly
+ * summary is a key lookup instead of a scan over the expense table.
+ */
+@Entity
+@Table(
+        name = "monthly_category_total",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_monthly_category_total",
+                columnNames = {"user_id", "period_year", "period_month", "category", "currency"}
+        )
+)
+public class MonthlyCategoryTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "period_year", nullable = false)
+    private int year;
+
+    @Column(name = "period_month", nullable = false)
+    private int month;
+
+    @Column(nullable = false)
+    private String category;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(name = "total_minor", nullable = false)
+    private long totalMinor;
+
+    @Column(nullable = false)
+    private long expenseCount;
+
+    protected MonthlyCategoryTotal() {
+    }
+
+    // 🔹 Also used as a JPQL constructor expression by the rebuild query
+    public MonthlyCategoryTotal(
+            Long userId,
+            Integer year,
+            Integer month,
+            String category,
+            String currency,
+            Long totalMinor,
+            Long expenseCount
+    ) {
+        this.userId = userId;
+        this.year = year;
+        this.month = month;
+        this.category = category;
+        this.currency = currency;
+        this.totalMinor = totalMinor;
+        this.expenseCount = expenseCount;
+    }
+
+    // ===== Getters =====
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public int getMonth() {
+        return month;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public long getTotalMinor() {
+        return totalMinor;
+    }
+
+    public long getExpenseCount() {
+        return expenseCount;
+    }
+}
@@ -0,0 +1,47 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.dto.BudgetStatusResponse;
+import com.expensetracker.model.Budget;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface BudgetRepository extends JpaRepository<Budget, Long> {
+
+    List<Budget> findByUserId(Long userId);
+
+    Optional<Budget> findByUserIdAndCategoryAndCurrency(Long userId, String category, String currency);
+
+    // 🔹 Key lookups into the rollup, one per budget; nothing is summed here
+    @Query("""
+        SELECT new com.expensetracker.dto.BudgetStatusResponse(
+            b.id,
+            b.category,
+            b.currency,
+            b.limitMinor,
+            COALESCE(t.totalMinor, 0)
+        )
+        FROM Budget b
+        LEFT JOIN MonthlyCategoryTotal t
+            ON t.userId = b.userId
+            AND t.year = :year
+            AND t.month = :month
+            AND t.category = b.category
+            AND t.currency = b.currency
+        WHERE b.userId = :userId
+        ORDER BY b.category, b.currency
+    """)
+    List<BudgetStatusResponse> getStatus(
+            @Param("userId") Long userId,
+            @Param("month") int month,
+            @Param("year") int year
+    );
+
+    @Modifying
+    @Query("DELETE FROM Budget b WHERE b.id = :id AND b.userId = :userId")
+    int deleteOwned(@Param("id") Long id, @Param("userId") Long userId);
+}
@@ -1,19 +1,28 @@
 package com.expensetracker.repository;
 
+import com.expensetracker.dto.ExpenseResponse;
+import com.expensetracker.dto.ExpenseSummaryResponse;
 import com.expensetracker.model.Expense;
+import com.expensetracker.model.MonthlyCategoryTotal;
 import com.expensetracker.model.User;
-import com.expensetracker.dto.ExpenseSummaryResponse;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface ExpenseRepository extends JpaRepository<Expense, Long> {
+public interface ExpenseRepository extends JpaRepository<Expense, Long>,
+        JpaSpecificationExecutor<Expense>, ExpenseRepositoryCustom {
 
     // ✅ existing
     List<Expense> findByUser(User user);
@@ -21,37 +30,200 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     // ✅ REQUIRED FOR SERVER-SIDE PAGINATION
     Page<Expense> findByUser(User user, Pageable pageable);
 
+    // 🔹 One query shape per filter combination, see ExpenseSpecifications
+    default Page<Expense> findFilteredExpenses(
+            User user,
+            String category,
+            LocalDate from,
+            LocalDate to,
+            Pageable pageable
+    ) {
+        return findAll(
+                ExpenseSpecifications.filtered(user, category, from, to),
+                pageable
+        );
+    }
+
+    // 🔹 Partial months at the edges of an analytics range; whole months come from the rollup
     @Query("""
-        SELECT e FROM Expense e
-        WHERE e.user = :user
-        AND (:category IS NULL OR e.category = :category)
-        AND (:from IS NULL OR e.date >= :from)
-        AND (:to IS NULL OR e.date <= :to)
+        SELECT new com.expensetracker.dto.ExpenseSummaryResponse(
+            e.category,
+            e.currency,
+            SUM(e.amountMinor)
+        )
+        FROM Expense e
+        WHERE e.user.id = :userId
+        AND e.currency = :currency
+        AND e.date BETWEEN :from AND :to
+        GROUP BY e.category, e.currency
     """)
-    Page<Expense> findFilteredExpenses(
-            @Param("user") User user,
-            @Param("category") String category,
+    List<ExpenseSummaryResponse> sumByCategoryBetween(
+            @Param("userId") Long userId,
+            @Param("currency") String currency,
             @Param("from") LocalDate from,
-            @Param("to") LocalDate to,
-            Pageable pageable
+            @Param("to") LocalDate to
     );
 
+    // 🔹 Source of truth for rebuilding the monthly rollup
     @Query("""
-        SELECT new com.expensetracker.dto.ExpenseSummaryResponse(
+        SELECT new com.expensetracker.model.MonthlyCategoryTotal(
+            e.user.id,
+            YEAR(e.date),
+            MONTH(e.date),
             e.category,
-            SUM(e.amount)
+            e.currency,
+            SUM(e.amountMinor),
+            COUNT(e)
+        )
+        FROM Expense e
+        WHERE (:userId IS NULL OR e.user.id = :userId)
+        GROUP BY e.user.id, YEAR(e.date), MONTH(e.date), e.category, e.currency
+    """)
+    List<MonthlyCategoryTotal> aggregateMonthlyTotals(@Param("userId") Long userId);
+
+    // 🔹 Forward-only cursor for exports; consume inside a transaction and close
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT new com.expensetracker.dto.ExpenseResponse(
+            e.id, e.title, e.amountMinor, e.currency, e.category, e.date,
+            e.paymentMethod, e.notes, e.createdAt
         )
         FROM Expense e
         WHERE e.user = :user
-        AND MONTH(e.date) = :month
+        ORDER BY e.date, e.id
+    """)
+    Stream<ExpenseResponse> streamExpenseResponses(@Param("user") User user);
+
+    // 🔹 Search index rebuild; consume inside a transaction and close
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Expense e ORDER BY e.id")
+    Stream<Expense> streamAllForIndexing();
+
+    @Query("""
+        SELECT new com.expensetracker.dto.ExpenseResponse(
+            e.id, e.title, e.amountMinor, e.currency, e.category, e.date,
+            e.paymentMethod, e.notes, e.createdAt
+        )
+        FROM Expense e
+        WHERE e.id = :id
+        AND e.user.id = :userId
+    """)
+    ExpenseResponse findExpenseResponse(@Param("id") Long id, @Param("userId") Long userId);
+
+    // ---------- OWNERSHIP-CHECKED WRITES ----------
+    // 🔹 Ownership is part of the WHERE clause: 0 rows means missing or not the caller's
+
+    // Edits that keep the rollup bucket and amount; anything else matches no row
+    @Modifying
+    @Query("""
+        UPDATE Expense e
+        SET e.title = :title,
+            e.date = :date,
+            e.paymentMethod = :paymentMethod,
+            e.notes = :notes
+        WHERE e.id = :id
+        AND e.user.id = :userId
+        AND e.amountMinor = :amountMinor
+        AND e.currency = :currency
+        AND e.category = :category
         AND YEAR(e.date) = :year
-        GROUP BY e.category
+        AND MONTH(e.date) = :month
     """)
-    List<ExpenseSummaryResponse> getMonthlySummary(
-            @Param("user") User user,
-            @Param("month") int month,
-            @Param("year") int year
+    int updateInPlace(
+            @Param("id") Long id,
+            @Param("userId") Long userId,
+            @Param("title") String title,
+            @Param("date") LocalDate date,
+            @Param("paymentMethod") String paymentMethod,
+            @Param("notes") String notes,
+            @Param("amountMinor") long amountMinor,
+            @Param("currency") String currency,
+            @Param("category") String category,
+            @Param("year") int year,
+            @Param("month") int month
     );
 
-    Optional<Expense> findByIdAndUser(Long id, User user);
-}
\ No newline at end of file
+    @Modifying
+    @Query("""
+        UPDATE Expense e
+        SET e.title = :title,
+            e.amountMinor = :amountMinor,
+            e.currency = :currency,
+            e.category = :category,
+            e.date = :date,
+            e.paymentMethod = :paymentMethod,
+            e.notes = :notes
+        WHERE e.id = :id
+        AND e.user.id = :userId
+    """)
+    int updateOwned(
+            @Param("id") Long id,
+            @Param("userId") Long userId,
+            @Param("title") String title,
+            @Param("amountMinor") long amountMinor,
+            @Param("currency") String currency,
+            @Param("category") String category,
+            @Param("date") LocalDate date,
+            @Param("paymentMethod") String paymentMethod,
+            @Param("notes") String notes
+    );
+
+    @Modifying
+    @Query("DELETE FROM Expense e WHERE e.id = :id AND e.user.id = :userId")
+    int deleteOwned(@Param("id") Long id, @Param("userId") Long userId);
+
+    // ---------- BATCH WRITES ----------
+    // 🔹 Set-based over an id list, always scoped to the user
+
+    @Query("SELECT e.id FROM Expense e WHERE e.user.id = :userId AND e.id IN :ids")
+    List<Long> findOwnedIds(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    // 🔹 What a batch is about to move out of the rollup, one row per bucket
+    @Query("""
+        SELECT new com.expensetracker.model.MonthlyCategoryTotal(
+            e.user.id,
+            YEAR(e.date),
+            MONTH(e.date),
+            e.category,
+            e.currency,
+            SUM(e.amountMinor),
+            COUNT(e)
+        )
+        FROM Expense e
+        WHERE e.user.id = :userId
+        AND e.id IN :ids
+        GROUP BY e.user.id, YEAR(e.date), MONTH(e.date), e.category, e.currency
+    """)
+    List<MonthlyCategoryTotal> aggregateMonthlyTotalsOf(
+            @Param("userId") Long userId,
+            @Param("ids") Collection<Long> ids
+    );
+
+    @Modifying
+    @Query("DELETE FROM Expense e WHERE e.user.id = :userId AND e.id IN :ids")
+    int deleteAllOwned(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    // 🔹 A null parameter keeps the column's current value
+    @Modifying
+    @Query("""
+        UPDATE Expense e
+        SET e.category = COALESCE(:category, e.category),
+            e.paymentMethod = COALESCE(:paymentMethod, e.paymentMethod),
+            e.notes = COALESCE(:notes, e.notes)
+        WHERE e.user.id = :userId
+        AND e.id IN :ids
+    """)
+    int patchAllOwned(
+            @Param("userId") Long userId,
+            @Param("ids") Collection<Long> ids,
+            @Param("category") String category,
+            @Param("paymentMethod") String paymentMethod,
+            @Param("notes") String notes
+    );
+}
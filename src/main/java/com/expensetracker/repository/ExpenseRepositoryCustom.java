@@ -0,0 +1,59 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.dto.ExpenseCursor;
+import com.expensetracker.dto.ExpenseResponse;
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Listing queries that select straight into {@link ExpenseResponse}, so no
+ * managed {@link Expense} entities, snapshots or user proxies are created.
+ */
+public interface ExpenseRepositoryCustom {
+
+    /**
+     * Offset page. The count query is skipped when the page itself shows
+     * the total (first page not full, or last page).
+     */
+    Page<ExpenseResponse> findExpenseResponses(
+            Specification<Expense> spec,
+            Pageable pageable
+    );
+
+    /**
+     * Keyset page: up to {@code limit} expenses ordered by (createdAt, id),
+     * strictly after {@code after} (or from the start when it is {@code null}).
+     * Runs no count query and does not slow down with depth.
+     */
+    List<ExpenseResponse> findExpenseResponsesAfter(
+            User user,
+            String category,
+            LocalDate from,
+            LocalDate to,
+            ExpenseCursor after,
+            boolean ascending,
+            int limit
+    );
+
+    /**
+     * Offset page of the user's expenses whose title or notes contain a
+     * token starting with each of {@code terms}, best match first. Ranking
+     * sums the matched {@link com.expensetracker.model.ExpenseSearchTerm}
+     * weights, doubled for whole-token matches; ties go to the newer expense.
+     * {@code terms} must be normalized tokens, none a prefix of another.
+     */
+    Page<ExpenseResponse> searchExpenseResponses(
+            Long userId,
+            List<String> terms,
+            String category,
+            LocalDate from,
+            LocalDate to,
+            Pageable pageable
+    );
+}
@@ -0,0 +1,241 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.dto.ExpenseCursor;
+import com.expensetracker.dto.ExpenseResponse;
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class ExpenseRepositoryCustomImpl implements ExpenseRepositoryCustom {
+
+    private static final String SELECT_RESPONSE = """
+            SELECT new com.expensetracker.dto.ExpenseResponse(
+                e.id, e.title, e.amountMinor, e.currency, e.category, e.date,
+                e.paymentMethod, e.notes, e.createdAt
+            )
+            FROM Expense e
+            """;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public Page<ExpenseResponse> findExpenseResponses(
+            Specification<Expense> spec,
+            Pageable pageable
+    ) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<ExpenseResponse> cq = cb.createQuery(ExpenseResponse.class);
+        Root<Expense> root = cq.from(Expense.class);
+
+        cq.select(cb.construct(
+                ExpenseResponse.class,
+                root.get("id"),
+                root.get("title"),
+                root.get("amountMinor"),
+                root.get("currency"),
+                root.get("category"),
+                root.get("date"),
+                root.get("paymentMethod"),
+                root.get("notes"),
+                root.get("createdAt")
+        ));
+        cq.where(spec.toPredicate(root, cq, cb));
+        cq.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<ExpenseResponse> query = em.createQuery(cq);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+
+        return PageableExecutionUtils.getPage(
+                query.getResultList(),
+                pageable,
+                () -> count(spec)
+        );
+    }
+
+    private long count(Specification<Expense> spec) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+        Root<Expense> root = cq.from(Expense.class);
+
+        cq.select(cb.count(root));
+        cq.where(spec.toPredicate(root, cq, cb));
+
+        return em.createQuery(cq).getSingleResult();
+    }
+
+    @Override
+    public List<ExpenseResponse> findExpenseResponsesAfter(
+            User user,
+            String category,
+            LocalDate from,
+            LocalDate to,
+            ExpenseCursor after,
+            boolean ascending,
+            int limit
+    ) {
+        // Same shape-per-combination rule as ExpenseSpecifications
+        StringBuilder jpql = new StringBuilder(SELECT_RESPONSE).append("WHERE e.user = :user");
+
+        if (category != null) {
+            jpql.append(" AND e.category = :category");
+        }
+        if (from != null) {
+            jpql.append(" AND e.date >= :from");
+        }
+        if (to != null) {
+            jpql.append(" AND e.date <= :to");
+        }
+        if (after != null) {
+            // Row-value seek, served by the (user_id, created_at) index
+            jpql.append(ascending
+                    ? " AND (e.createdAt, e.id) > (:afterCreatedAt, :afterId)"
+                    : " AND (e.createdAt, e.id) < (:afterCreatedAt, :afterId)");
+        }
+
+        String direction = ascending ? "ASC" : "DESC";
+        jpql.append(" ORDER BY e.createdAt ").append(direction)
+                .append(", e.id ").append(direction);
+
+        TypedQuery<ExpenseResponse> query = em.createQuery(jpql.toString(), ExpenseResponse.class)
+                .setParameter("user", user)
+                .setMaxResults(limit);
+
+        if (category != null) {
+            query.setParameter("category", category);
+        }
+        if (from != null) {
+            query.setParameter("from", from);
+        }
+        if (to != null) {
+            query.setParameter("to", to);
+        }
+        if (after != null) {
+            query.setParameter("afterCreatedAt", after.getCreatedAt());
+            query.setParameter("afterId", after.getId());
+        }
+
+        return query.getResultList();
+    }
+
+    @Override
+    public Page<ExpenseResponse> searchExpenseResponses(
+            Long userId,
+            List<String> terms,
+            String category,
+            LocalDate from,
+            LocalDate to,
+            Pageable pageable
+    ) {
+        String matches = matches(terms, category, from, to);
+
+        TypedQuery<Long> ranked = bindSearch(em.createQuery(
+                "SELECT t.expenseId " + matches
+                        + " ORDER BY SUM(CASE WHEN t.token IN :terms THEN t.weight * 2 ELSE t.weight END) DESC,"
+                        + " t.expenseId DESC",
+                Long.class
+        ), userId, terms, category, from, to).setParameter("terms", terms);
+        if (pageable.isPaged()) {
+            ranked.setFirstResult((int) pageable.getOffset());
+            ranked.setMaxResults(pageable.getPageSize());
+        }
+        List<Long> ids = ranked.getResultList();
+
+        List<ExpenseResponse> rows = ids.isEmpty() ? List.of() : em.createQuery(
+                        SELECT_RESPONSE + "WHERE e.user.id = :userId AND e.id IN :ids",
+                        ExpenseResponse.class)
+                .setParameter("userId", userId)
+                .setParameter("ids", ids)
+                .getResultList();
+
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            rank.put(ids.get(i), i);
+        }
+        List<ExpenseResponse> page = rows.stream()
+                .sorted(Comparator.comparing(row -> rank.get(row.id)))
+                .toList();
+
+        return PageableExecutionUtils.getPage(
+                page,
+                pageable,
+                () -> bindSearch(em.createQuery(
+                        "SELECT COUNT(*) FROM (SELECT t.expenseId AS id " + matches + ")",
+                        Long.class
+                ), userId, terms, category, from, to).getSingleResult()
+        );
+    }
+
+    // 🔹 Every term must match; a token can only match one term since none is a prefix of another
+    private static String matches(List<String> terms, String category, LocalDate from, LocalDate to) {
+        boolean filtered = category != null || from != null || to != null;
+
+        StringBuilder jpql = new StringBuilder("FROM ExpenseSearchTerm t");
+        if (filtered) {
+            jpql.append(" JOIN Expense e ON e.id = t.expenseId");
+        }
+        jpql.append(" WHERE t.userId = :userId AND (");
+        for (int i = 0; i < terms.size(); i++) {
+            jpql.append(i == 0 ? "" : " OR ").append("t.token LIKE :prefix").append(i);
+        }
+        jpql.append(")");
+
+        if (category != null) {
+            jpql.append(" AND e.category = :category");
+        }
+        if (from != null) {
+            jpql.append(" AND e.date >= :from");
+        }
+        if (to != null) {
+            jpql.append(" AND e.date <= :to");
+        }
+
+        jpql.append(" GROUP BY t.expenseId");
+        if (terms.size() > 1) {
+            jpql.append(" HAVING COUNT(DISTINCT CASE");
+            for (int i = 0; i < terms.size(); i++) {
+                jpql.append(" WHEN t.token LIKE :prefix").append(i).append(" THEN ").append(i);
+            }
+            jpql.append(" END) = ").append(terms.size());
+        }
+        return jpql.toString();
+    }
+
+    private static <T> TypedQuery<T> bindSearch(TypedQuery<T> query, Long userId, List<String> terms,
+                                                String category, LocalDate from, LocalDate to) {
+        query.setParameter("userId", userId);
+        for (int i = 0; i < terms.size(); i++) {
+            // Tokens are letters and digits only, so nothing needs escaping
+            query.setParameter("prefix" + i, terms.get(i) + "%");
+        }
+        if (category != null) {
+            query.setParameter("category", category);
+        }
+        if (from != null) {
+            query.setParameter("from", from);
+        }
+        if (to != null) {
+            query.setParameter("to", to);
+        }
+        return query;
+    }
+}
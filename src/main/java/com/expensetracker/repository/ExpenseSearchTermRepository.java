@@ -0,0 +1,24 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.model.ExpenseSearchTerm;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+
+public interface ExpenseSearchTermRepository
+        extends JpaRepository<ExpenseSearchTerm, ExpenseSearchTerm.Key> {
+
+    @Modifying
+    @Query("DELETE FROM ExpenseSearchTerm t WHERE t.userId = :userId AND t.expenseId IN :expenseIds")
+    int deleteByExpenseIds(
+            @Param("userId") Long userId,
+            @Param("expenseIds") Collection<Long> expenseIds
+    );
+
+    @Modifying
+    @Query("DELETE FROM ExpenseSearchTerm t")
+    int deleteAllRows();
+}
@@ -0,0 +1,77 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.dto.ExpenseSummaryResponse;
+import com.expensetracker.model.MonthlyCategoryTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface MonthlyCategoryTotalRepository extends JpaRepository<MonthlyCategoryTotal, Long>,
+        MonthlyCategoryTotalRepositoryCustom {
+
+    // 🔹 Unique-key lookup of one bucket's running total
+    @Query("""
+        SELECT t.totalMinor
+        FROM MonthlyCategoryTotal t
+        WHERE t.userId = :userId
+        AND t.year = :year
+        AND t.month = :month
+        AND t.category = :category
+        AND t.currency = :currency
+    """)
+    Long findTotalMinor(
+            @Param("userId") Long userId,
+            @Param("year") int year,
+            @Param("month") int month,
+            @Param("category") String category,
+            @Param("currency") String currency
+    );
+
+    @Query("""
+        SELECT new com.expensetracker.dto.ExpenseSummaryResponse(
+            t.category,
+            t.currency,
+            t.totalMinor
+        )
+        FROM MonthlyCategoryTotal t
+        WHERE t.userId = :userId
+        AND t.year = :year
+        AND t.month = :month
+        AND t.expenseCount > 0
+    """)
+    List<ExpenseSummaryResponse> getMonthlySummary(
+            @Param("userId") Long userId,
+            @Param("month") int month,
+            @Param("year") int year
+    );
+
+    // 🔹 Periods are year * 12 + month; the year bounds keep it on the unique key's index
+    @Query("""
+        SELECT t
+        FROM MonthlyCategoryTotal t
+        WHERE t.userId = :userId
+        AND t.currency = :currency
+        AND t.year BETWEEN :fromYear AND :toYear
+        AND t.year * 12 + t.month BETWEEN :fromPeriod AND :toPeriod
+        AND t.expenseCount > 0
+    """)
+    List<MonthlyCategoryTotal> findBetween(
+            @Param("userId") Long userId,
+            @Param("currency") String currency,
+            @Param("fromYear") int fromYear,
+            @Param("toYear") int toYear,
+            @Param("fromPeriod") int fromPeriod,
+            @Param("toPeriod") int toPeriod
+    );
+
+    @Modifying
+    @Query("DELETE FROM MonthlyCategoryTotal t WHERE t.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM MonthlyCategoryTotal t")
+    int deleteAllRows();
+}
@@ -0,0 +1,23 @@
+package com.expensetracker.repository;
+
+/**
+ * Atomic rollup writes that JPQL cannot express.
+ */
+public interface MonthlyCategoryTotalRepositoryCustom {
+
+    /**
+     * Adds {@code amountMinor} and {@code count} to the bucket, creating it
+     * when it does not exist yet, in one statement. Concurrent first writes
+     * to the same bucket are serialized on its unique key instead of one of
+     * them failing.
+     */
+    void upsertTotal(
+            Long userId,
+            int year,
+            int month,
+            String category,
+            String currency,
+            long amountMinor,
+            long count
+    );
+}
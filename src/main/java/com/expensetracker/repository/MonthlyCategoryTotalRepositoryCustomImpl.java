@@ -0,0 +1,87 @@
+package com.expensetracker.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+class MonthlyCategoryTotalRepositoryCustomImpl implements MonthlyCategoryTotalRepositoryCustom {
+
+    // 🔹 PostgreSQL's MERGE can still fail on the unique key under concurrency; ON CONFLICT cannot
+    private static final String POSTGRES_UPSERT = """
+            INSERT INTO monthly_category_total
+                (user_id, period_year, period_month, category, currency, total_minor, expense_count)
+            VALUES (:userId, :year, :month, :category, :currency, :amountMinor, :count)
+            ON CONFLICT ON CONSTRAINT uk_monthly_category_total DO UPDATE
+            SET total_minor = monthly_category_total.total_minor + EXCLUDED.total_minor,
+                expense_count = monthly_category_total.expense_count + EXCLUDED.expense_count
+            """;
+
+    // 🔹 H2 (tests) has only ON CONFLICT DO NOTHING: update, else insert, else the twin won and we update
+    private static final String UPDATE = """
+            UPDATE monthly_category_total
+            SET total_minor = total_minor + :amountMinor,
+                expense_count = expense_count + :count
+            WHERE user_id = :userId
+            AND period_year = :year
+            AND period_month = :month
+            AND category = :category
+            AND currency = :currency
+            """;
+
+    private static final String INSERT_IF_ABSENT = """
+            INSERT INTO monthly_category_total
+                (user_id, period_year, period_month, category, currency, total_minor, expense_count)
+            VALUES (:userId, :year, :month, :category, :currency, :amountMinor, :count)
+            ON CONFLICT DO NOTHING
+            """;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private Boolean postgres;
+
+    @Override
+    public void upsertTotal(
+            Long userId,
+            int year,
+            int month,
+            String category,
+            String currency,
+            long amountMinor,
+            long count
+    ) {
+        if (postgres()) {
+            execute(POSTGRES_UPSERT, userId, year, month, category, currency, amountMinor, count);
+            return;
+        }
+
+        if (execute(UPDATE, userId, year, month, category, currency, amountMinor, count) == 0
+                && execute(INSERT_IF_ABSENT, userId, year, month, category, currency, amountMinor, count) == 0) {
+            execute(UPDATE, userId, year, month, category, currency, amountMinor, count);
+        }
+    }
+
+    private int execute(String sql, Long userId, int year, int month, String category, String currency,
+                        long amountMinor, long count) {
+        return em.createNativeQuery(sql)
+                .setParameter("userId", userId)
+                .setParameter("year", year)
+                .setParameter("month", month)
+                .setParameter("category", category)
+                .setParameter("currency", currency)
+                .setParameter("amountMinor", amountMinor)
+                .setParameter("count", count)
+                .executeUpdate();
+    }
+
+    private boolean postgres() {
+        if (postgres == null) {
+            postgres = em.getEntityManagerFactory()
+                    .unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices()
+                    .getDialect() instanceof PostgreSQLDialect;
+        }
+        return postgres;
+    }
+}
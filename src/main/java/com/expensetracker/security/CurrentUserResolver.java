@@ -0,0 +1,84 @@
+package com.expensetracker.security;
+
+import com.expensetracker.model.User;
+import com.expensetracker.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Turns the authenticated principal into a {@link User} reference without
+ * querying the users table.
+ * <p>
+ * Tokens carrying the user id resolve straight to a lazy reference, without
+ * a transaction or a connection. Older tokens only carry the email, which is
+ * mapped to an id through a bounded cache; hits and misses are published as {@code cache.gets{cache=user.principal}}.
+ */
+@Component
+public class CurrentUserResolver {
+
+    private final UserRepository userRepo;
+    private final Cache<String, Long> idsByEmail;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    public CurrentUserResolver(
+            UserRepository userRepo,
+            MeterRegistry meterRegistry,
+            @Value("${security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${security.principal-cache.ttl:30m}") Duration ttl
+    ) {
+        this.userRepo = userRepo;
+        this.idsByEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByEmail, "user.principal");
+    }
+
+    // 🔹 Plain EntityManager call: the repository method would open a read-only
+    // transaction, and with it a pooled connection, just to hand out a proxy
+    public User resolve(Authentication authentication) {
+        Long userId = resolveId(authentication);
+        return em.getReference(User.class, userId);
+    }
+
+    public Long resolveId(Authentication authentication) {
+        Object principal = authentication.getPrincipal();
+
+        if (principal instanceof UserPrincipal userPrincipal
+                && userPrincipal.getId() != null) {
+            return userPrincipal.getId();
+        }
+
+        String email = authentication.getName();
+        Long userId = idsByEmail.get(email, this::loadId);
+
+        if (userId == null) {
+            throw new RuntimeException("User not found");
+        }
+        return userId;
+    }
+
+    // 🔹 Called on login/register so the first request is a hit
+    public void remember(User user) {
+        idsByEmail.put(user.getEmail(), user.getId());
+    }
+
+    private Long loadId(String email) {
+        return userRepo.findByEmail(email)
+                .map(User::getId)
+                .orElse(null);
+    }
+}
@@ -1,5 +1,7 @@
 package com.expensetracker.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -12,10 +14,30 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtFilter extends OncePerRequestFilter {
 
+    // 🔹 Stateless, shared across requests
+    private final WebAuthenticationDetailsSource detailsSource =
+            new WebAuthenticationDetailsSource();
+
+    private final Timer validTokens;
+    private final Timer invalidTokens;
+
+    public JwtFilter(MeterRegistry meterRegistry) {
+        this.validTokens = validationTimer(meterRegistry, "valid");
+        this.invalidTokens = validationTimer(meterRegistry, "invalid");
+    }
+
+    private static Timer validationTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("security.jwt.validation")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
 
@@ -44,17 +66,17 @@ public class JwtFilter extends OncePerRequestFilter {
             if (authHeader != null && authHeader.startsWith("Bearer ")) {
                 String token = authHeader.substring(7);
 
-                String email = JwtUtil.validateTokenAndGetEmail(token);
+                UserPrincipal principal = validate(token);
 
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
-                                email,
+                                principal,
                                 null,
                                 Collections.emptyList()
                         );
 
                 authentication.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
+                        detailsSource.buildDetails(request)
                 );
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -67,4 +89,17 @@ public class JwtFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private UserPrincipal validate(String token) {
+        long start = System.nanoTime();
+
+        try {
+            UserPrincipal principal = JwtUtil.validateToken(token);
+            validTokens.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return principal;
+        } catch (RuntimeException ex) {
+            invalidTokens.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package com.expensetracker.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 public class JwtUtil {
 
@@ -18,9 +25,28 @@ public class JwtUtil {
 
     private static final long EXPIRATION_TIME = 1000L * 60 * 60 * 24; // 24 hours
 
-    public static String generateToken(String email) {
+    // 🔹 User id claim, lets the filter skip the email lookup
+    static final String USER_ID_CLAIM = "uid";
+
+    // 🔹 Immutable and thread-safe, built once
+    private static final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(key)
+            .build();
+
+    // 🔹 Clients re-send the same token for a whole session, so remember
+    // tokens that already passed verification until their exp claim
+    static final long VERIFIED_TOKEN_CACHE_SIZE = 10_000;
+
+    private static final Cache<String, VerifiedToken> verifiedTokens =
+            Caffeine.newBuilder()
+                    .maximumSize(VERIFIED_TOKEN_CACHE_SIZE)
+                    .expireAfter(new UntilTokenExpiry())
+                    .build();
+
+    public static String generateToken(Long userId, String email) {
         return Jwts.builder()
                 .setSubject(email)
+                .claim(USER_ID_CLAIM, userId)
                 .setIssuedAt(new Date())
                 .setExpiration(
                         new Date(System.currentTimeMillis() + EXPIRATION_TIME)
@@ -29,12 +55,78 @@ public class JwtUtil {
                 .compact();
     }
 
-    public static String validateTokenAndGetEmail(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+    public static UserPrincipal validateToken(String token) {
+        String digest = digest(token);
+
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+            return cached.principal;
+        }
+
+        // Throws on a bad signature or an expired token; nothing is cached then
+        Claims claims = verify(token);
+
+        UserPrincipal principal = toPrincipal(claims);
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(
+                    digest,
+                    new VerifiedToken(principal, claims.getExpiration().getTime())
+            );
+        }
+        return principal;
+    }
+
+    // Full HMAC check + JSON decode, bypassing the cache
+    static Claims verify(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    static void clearVerifiedTokens() {
+        verifiedTokens.invalidateAll();
+    }
+
+    private static UserPrincipal toPrincipal(Claims claims) {
+        // Tokens issued before the claim existed carry no id
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+
+        return new UserPrincipal(
+                userId != null ? userId.longValue() : null,
+                claims.getSubject()
+        );
+    }
+
+    // Cache key, so raw bearer tokens are never kept on the heap
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private record VerifiedToken(UserPrincipal principal, long expiresAt) {
+    }
+
+    private static class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String digest, VerifiedToken token, long currentTime) {
+            long remainingMillis = token.expiresAt - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String digest, VerifiedToken token,
+                                      long currentTime, long currentDuration) {
+            return expireAfterCreate(digest, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String digest, VerifiedToken token,
+                                    long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,105 @@
+package com.expensetracker.security;
+
+import com.expensetracker.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt off the request threads, on a pool with one thread per core
+ * (or {@code security.password.hash-threads}) and a bounded queue.
+ * <p>
+ * A burst of logins therefore waits here instead of occupying every request
+ * thread, and once {@code security.password.queue-capacity} hashes are
+ * waiting new ones fail fast with {@link ServiceBusyException} (503).
+ * Published as {@code security.password.queue.wait},
+ * {@code security.password.hash{operation=encode|matches}},
+ * {@code security.password.queue.depth} and {@code security.password.rejected}.
+ */
+@Component
+public class PasswordHasher {
+
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final Timer queueWait;
+    private final Timer encodeTime;
+    private final Timer matchesTime;
+    private final Counter rejected;
+
+    public PasswordHasher(
+            BCryptPasswordEncoder encoder,
+            MeterRegistry meterRegistry,
+            @Value("${security.password.hash-threads:0}") int threads,
+            @Value("${security.password.queue-capacity:64}") int queueCapacity
+    ) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        this.encoder = encoder;
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0, TimeUnit.MILLISECONDS,
+                queue,
+                new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.queueWait = Timer.builder("security.password.queue.wait")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.encodeTime = Timer.builder("security.password.hash")
+                .tag("operation", "encode")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.matchesTime = Timer.builder("security.password.hash")
+                .tag("operation", "matches")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder("security.password.rejected")
+                .register(meterRegistry);
+
+        Gauge.builder("security.password.queue.depth", queue, BlockingQueue::size)
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(encodeTime, () -> encoder.encode(rawPassword));
+    }
+
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        return submit(matchesTime, () -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> submit(Timer hashTime, Supplier<T> hash) {
+        long queuedAt = System.nanoTime();
+
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                queueWait.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return hashTime.record(hash);
+            }, executor);
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new ServiceBusyException("Too many sign-ins in progress, please retry");
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.expensetracker.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Per-user admission control, right after {@link JwtFilter}.
+ * <p>
+ * Every authenticated user has a {@link TokenBucket} of
+ * {@code security.rate-limit.capacity} tokens refilled at
+ * {@code security.rate-limit.tokens-per-second}. Each request spends its
+ * endpoint's cost, so one client looping over exports or filters runs dry
+ * long before it can hold the database pool, while ordinary use never
+ * notices. An empty bucket answers 429 with {@code Retry-After}; rejections
+ * are published as {@code security.ratelimit.rejected{endpoint}}.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // 🔹 First match wins; anything not listed costs 1
+    private static final List<Endpoint> ENDPOINTS = List.of(
+            new Endpoint("export", "GET", "/expenses/export", 20),
+            new Endpoint("bulk", "POST", "/expenses/bulk", 20),
+            new Endpoint("batch", "POST", "/expenses/batch-delete", 5),
+            new Endpoint("batch", "PATCH", "/expenses/batch", 5),
+            new Endpoint("analytics", "GET", "/expenses/analytics", 5),
+            new Endpoint("search", "GET", "/expenses/search", 3),
+            new Endpoint("filter", "GET", "/expenses/filter", 2),
+            new Endpoint("summary", "GET", "/expenses/summary", 2)
+    );
+
+    private static final Endpoint DEFAULT = new Endpoint("default", null, null, 1);
+
+    private final boolean enabled;
+    private final int capacity;
+    private final double tokensPerSecond;
+    private final Cache<Object, TokenBucket> buckets;
+    private final Function<Object, TokenBucket> newBucket;
+    private final Counter[] rejected;
+    private final Counter rejectedDefault;
+
+    public RateLimitFilter(
+            MeterRegistry meterRegistry,
+            @Value("${security.rate-limit.enabled:true}") boolean enabled,
+            @Value("${security.rate-limit.capacity:60}") int capacity,
+            @Value("${security.rate-limit.tokens-per-second:10}") double tokensPerSecond,
+            @Value("${security.rate-limit.max-users:100000}") long maxUsers
+    ) {
+        for (Endpoint endpoint : ENDPOINTS) {
+            if (endpoint.cost() > capacity) {
+                throw new IllegalArgumentException(
+                        "security.rate-limit.capacity must cover the " + endpoint.name() + " cost of " + endpoint.cost());
+            }
+        }
+
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.tokensPerSecond = tokensPerSecond;
+
+        // 🔹 An idle bucket is full again after capacity / rate; evicting it then loses nothing
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(Duration.ofNanos((long) (capacity / tokensPerSecond * 1_000_000_000L)))
+                .build();
+        this.newBucket = key -> new TokenBucket(this.capacity, this.tokensPerSecond, System.nanoTime());
+
+        this.rejected = new Counter[ENDPOINTS.size()];
+        for (int i = 0; i < rejected.length; i++) {
+            rejected[i] = rejectedCounter(meterRegistry, ENDPOINTS.get(i).name());
+        }
+        this.rejectedDefault = rejectedCounter(meterRegistry, DEFAULT.name());
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String endpoint) {
+        return Counter.builder("security.ratelimit.rejected")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || "OPTIONS".equalsIgnoreCase(request.getMethod())) {
+            return true;
+        }
+
+        String path = request.getServletPath();
+
+        return path.equals("/users/login")
+                || path.equals("/users/register")
+                || path.startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        Object key = userKey(SecurityContextHolder.getContext().getAuthentication());
+
+        // 🔑 Anonymous requests are rejected by authorization; nothing to charge
+        if (key == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        int index = endpointIndex(request.getMethod(), request.getServletPath());
+        int cost = index < 0 ? DEFAULT.cost() : ENDPOINTS.get(index).cost();
+
+        long waitNanos = buckets.get(key, newBucket).tryAcquire(cost, System.nanoTime());
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        (index < 0 ? rejectedDefault : rejected[index]).increment();
+        tooManyRequests(response, waitNanos);
+    }
+
+    // 🔹 Tokens without an id share a bucket per email, as CurrentUserResolver does
+    private static Object userKey(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return null;
+        }
+        if (authentication.getPrincipal() instanceof UserPrincipal principal && principal.getId() != null) {
+            return principal.getId();
+        }
+        return authentication.getName();
+    }
+
+    private static int endpointIndex(String method, String path) {
+        for (int i = 0; i < ENDPOINTS.size(); i++) {
+            Endpoint endpoint = ENDPOINTS.get(i);
+            if (endpoint.method().equals(method) && path.startsWith(endpoint.pathPrefix())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void tooManyRequests(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"errors\":[\"Too many requests, please retry later\"]}");
+    }
+
+    private record Endpoint(String name, String method, String pathPrefix, int cost) {
+    }
+}
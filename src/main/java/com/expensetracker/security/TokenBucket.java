@@ -0,0 +1,50 @@
+package com.expensetracker.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket in its GCRA form: instead of a token count and a
+ * last-refill time, the bucket keeps one value, the time at which it would
+ * be full again. Taking {@code cost} tokens pushes that time forward by
+ * {@code cost} refill intervals, and a request is admitted while the bucket
+ * stays no more than {@code capacity} tokens in debt. One CAS per admitted
+ * request; contended callers retry rather than block.
+ */
+public final class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(int capacity, double tokensPerSecond, long nowNanos) {
+        if (capacity < 1 || tokensPerSecond <= 0) {
+            throw new IllegalArgumentException("Capacity and refill rate must be positive");
+        }
+        this.nanosPerToken = Math.max(1, (long) (1_000_000_000L / tokensPerSecond));
+        this.burstNanos = capacity * nanosPerToken;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes {@code cost} tokens if available.
+     *
+     * @return 0 when admitted, otherwise how many nanoseconds until enough
+     * tokens will have been refilled
+     */
+    public long tryAcquire(int cost, long nowNanos) {
+        long increment = cost * nanosPerToken;
+
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + increment;
+            long wait = next - nowNanos - burstNanos;
+
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
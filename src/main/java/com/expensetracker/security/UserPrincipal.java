@@ -0,0 +1,39 @@
+package com.expensetracker.security;
+
+import java.security.Principal;
+
+/**
+ * Authenticated caller as carried by the JWT.
+ * <p>
+ * {@link #getName()} returns the email so {@code Authentication.getName()}
+ * keeps working; {@link #getId()} is {@code null} for tokens issued before
+ * the user id claim was added.
+ */
+public class UserPrincipal implements Principal {
+
+    private final Long id;
+    private final String email;
+
+    public UserPrincipal(Long id, String email) {
+        this.id = id;
+        this.email = email;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        return email;
+    }
+}
@@ -0,0 +1,19 @@
+package com.expensetracker.service;
+
+import java.time.YearMonth;
+
+/**
+ * Published when a write takes a month's spending in a budgeted category
+ * across {@code thresholdPercent} of the limit. Amounts are minor units.
+ */
+public record BudgetAlert(
+        Long userId,
+        Long budgetId,
+        String category,
+        String currency,
+        YearMonth month,
+        int thresholdPercent,
+        long limitMinor,
+        long spentMinor
+) {
+}
@@ -0,0 +1,38 @@
+package com.expensetracker.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Delivers {@link BudgetAlert}s off the request thread, and only for writes
+ * that committed. Delivery is a log line and a
+ * {@code budget.alerts{threshold}} count; a mail or push channel plugs in here.
+ */
+@Component
+public class BudgetAlertNotifier {
+
+    private static final Logger log = LoggerFactory.getLogger(BudgetAlertNotifier.class);
+
+    private final MeterRegistry meterRegistry;
+
+    public BudgetAlertNotifier(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Async
+    @TransactionalEventListener
+    public void deliver(BudgetAlert alert) {
+        log.info("User {} reached {}% of the {} {} budget for {}",
+                alert.userId(), alert.thresholdPercent(), alert.category(), alert.currency(), alert.month());
+
+        Counter.builder("budget.alerts")
+                .tag("threshold", String.valueOf(alert.thresholdPercent()))
+                .register(meterRegistry)
+                .increment();
+    }
+}
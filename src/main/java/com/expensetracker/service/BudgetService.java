@@ -0,0 +1,137 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.BudgetStatusResponse;
+import com.expensetracker.model.Budget;
+import com.expensetracker.repository.BudgetRepository;
+import com.expensetracker.repository.MonthlyCategoryTotalRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Serializable;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Monthly budgets per category, evaluated as expenses are written.
+ * <p>
+ * {@link MonthlySummaryRollup} reports every increase of a bucket here
+ * right after applying it. A write to a category without a budget costs
+ * one cache lookup; with a budget it adds one unique-key read of the bucket
+ * it just updated. Because that read sees the total including this write's
+ * delta, and concurrent writes to the bucket are serialized by its row
+ * lock, each threshold crossing is detected by exactly one write. Alerts
+ * are published as {@link BudgetAlert} events and delivered after commit.
+ */
+@Service
+public class BudgetService {
+
+    private static final int[] THRESHOLDS = {Budget.WARNING_PERCENT, Budget.EXCEEDED_PERCENT};
+
+    private final BudgetRepository budgetRepo;
+    private final MonthlyCategoryTotalRepository totalRepo;
+    private final ApplicationEventPublisher events;
+    private final Cache limits;
+
+    public BudgetService(BudgetRepository budgetRepo,
+                         MonthlyCategoryTotalRepository totalRepo,
+                         ApplicationEventPublisher events,
+                         CacheManager cacheManager) {
+        this.budgetRepo = budgetRepo;
+        this.totalRepo = totalRepo;
+        this.events = events;
+        this.limits = cacheManager.getCache(ExpenseReadCache.BUDGETS);
+    }
+
+    // ---------- BUDGETS ----------
+    @Transactional
+    public BudgetStatusResponse setBudget(Long userId, String category, String currency, long limitMinor) {
+        Budget budget = budgetRepo.findByUserIdAndCategoryAndCurrency(userId, category, currency)
+                .orElseGet(() -> new Budget(userId, category, currency, limitMinor));
+        budget.setLimitMinor(limitMinor);
+        budget = budgetRepo.save(budget);
+        evictAfterCommit(userId);
+
+        YearMonth now = YearMonth.now();
+        Long spent = totalRepo.findTotalMinor(userId, now.getYear(), now.getMonthValue(), category, currency);
+        return new BudgetStatusResponse(budget.getId(), category, currency, limitMinor, spent != null ? spent : 0L);
+    }
+
+    @Transactional
+    public void deleteBudget(Long userId, Long id) {
+        if (budgetRepo.deleteOwned(id, userId) == 0) {
+            throw new AccessDeniedException("Not allowed");
+        }
+        evictAfterCommit(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<BudgetStatusResponse> getStatus(Long userId, YearMonth month) {
+        return budgetRepo.getStatus(userId, month.getMonthValue(), month.getYear());
+    }
+
+    // ---------- WRITE-TIME EVALUATION ----------
+
+    /**
+     * Called after {@code amountMinor} was added to the user's bucket for
+     * {@code (month, category, currency)} in the current transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void spendingIncreased(Long userId, YearMonth month, String category, String currency, long amountMinor) {
+        Limit limit = limitsOf(userId).get(key(category, currency));
+        if (limit == null || amountMinor <= 0) {
+            return;
+        }
+
+        Long spent = totalRepo.findTotalMinor(userId, month.getYear(), month.getMonthValue(), category, currency);
+        if (spent == null) {
+            return;
+        }
+
+        long before = spent - amountMinor;
+        for (int percent : THRESHOLDS) {
+            long threshold = Budget.threshold(limit.limitMinor(), percent);
+            if (before < threshold && spent >= threshold) {
+                events.publishEvent(new BudgetAlert(
+                        userId, limit.budgetId(), category, currency, month, percent, limit.limitMinor(), spent));
+            }
+        }
+    }
+
+    // ---------- HELPERS ----------
+
+    private HashMap<String, Limit> limitsOf(Long userId) {
+        return limits.get(userId, () -> {
+            HashMap<String, Limit> byKey = new HashMap<>();
+            for (Budget budget : budgetRepo.findByUserId(userId)) {
+                byKey.put(key(budget.getCategory(), budget.getCurrency()),
+                        new Limit(budget.getId(), budget.getLimitMinor()));
+            }
+            return byKey;
+        });
+    }
+
+    private void evictAfterCommit(Long userId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                limits.evict(userId);
+            }
+        });
+    }
+
+    private static String key(String category, String currency) {
+        return currency + ":" + category;
+    }
+
+    // 🔹 Serializable so it can live in the distributed cache
+    private record Limit(Long budgetId, long limitMinor) implements Serializable {
+    }
+}
@@ -0,0 +1,206 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.ExpenseSummaryResponse;
+import com.expensetracker.dto.RunningTotalsResponse;
+import com.expensetracker.dto.TopCategoriesResponse;
+import com.expensetracker.dto.YearMatrixResponse;
+import com.expensetracker.exception.InvalidRangeException;
+import com.expensetracker.model.MonthlyCategoryTotal;
+import com.expensetracker.model.Money;
+import com.expensetracker.repository.ExpenseRepository;
+import com.expensetracker.repository.MonthlyCategoryTotalRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Multi-month views of a user's spending, each answered with one grouped
+ * read of the {@link MonthlyCategoryTotal} rollup instead of one
+ * {@code /expenses/summary} call per month. Only the top-categories view
+ * touches the expense table, and only for partial months at the edges of
+ * its date range.
+ * <p>
+ * Sums are exact minor units per currency and are converted to decimal
+ * amounts only when the response is built.
+ */
+@Service
+public class ExpenseAnalyticsService {
+
+    public static final int MAX_MONTHS = 120;
+    public static final int MAX_TOP_CATEGORIES = 50;
+
+    private final MonthlyCategoryTotalRepository totalRepo;
+    private final ExpenseRepository expenseRepo;
+
+    public ExpenseAnalyticsService(
+            MonthlyCategoryTotalRepository totalRepo,
+            ExpenseRepository expenseRepo
+    ) {
+        this.totalRepo = totalRepo;
+        this.expenseRepo = expenseRepo;
+    }
+
+    // ---------- YEAR MATRIX ----------
+    @Transactional(readOnly = true)
+    public YearMatrixResponse getYearMatrix(Long userId, String currency, int year) {
+        Map<String, long[]> byCategory = new TreeMap<>();
+        long[] monthTotals = new long[12];
+        long total = 0;
+
+        for (MonthlyCategoryTotal row : totals(userId, currency, YearMonth.of(year, 1), YearMonth.of(year, 12))) {
+            int month = row.getMonth() - 1;
+            long[] categoryTotals = byCategory.computeIfAbsent(row.getCategory(), c -> new long[12]);
+            categoryTotals[month] = Math.addExact(categoryTotals[month], row.getTotalMinor());
+            monthTotals[month] = Math.addExact(monthTotals[month], row.getTotalMinor());
+            total = Math.addExact(total, row.getTotalMinor());
+        }
+
+        double[][] totals = new double[byCategory.size()][];
+        int c = 0;
+        for (long[] categoryTotals : byCategory.values()) {
+            totals[c++] = toMajor(categoryTotals, currency);
+        }
+
+        return new YearMatrixResponse(
+                year,
+                currency,
+                List.copyOf(byCategory.keySet()),
+                totals,
+                toMajor(monthTotals, currency),
+                Money.toMajor(total, currency)
+        );
+    }
+
+    // ---------- RUNNING TOTALS ----------
+    @Transactional(readOnly = true)
+    public RunningTotalsResponse getRunningTotals(Long userId, String currency, YearMonth from, YearMonth to) {
+        int months = checkMonths(from, to);
+
+        long[] totals = new long[months];
+        for (MonthlyCategoryTotal row : totals(userId, currency, from, to)) {
+            int i = period(row.getYear(), row.getMonth()) - period(from);
+            totals[i] = Math.addExact(totals[i], row.getTotalMinor());
+        }
+
+        List<String> labels = new ArrayList<>(months);
+        long[] cumulative = new long[months];
+        long running = 0;
+        for (int i = 0; i < months; i++) {
+            labels.add(from.plusMonths(i).toString());
+            running = Math.addExact(running, totals[i]);
+            cumulative[i] = running;
+        }
+
+        return new RunningTotalsResponse(
+                currency, labels, toMajor(totals, currency), toMajor(cumulative, currency));
+    }
+
+    // ---------- TOP CATEGORIES ----------
+
+    /**
+     * Whole months inside {@code [from, to]} are read from the rollup; the
+     * days before the first and after the last whole month are summed from
+     * the expense table. That is at most three grouped queries for any range.
+     */
+    @Transactional(readOnly = true)
+    public TopCategoriesResponse getTopCategories(Long userId, String currency,
+                                                  LocalDate from, LocalDate to, int limit) {
+        if (from.isAfter(to)) {
+            throw new InvalidRangeException("from must not be after to");
+        }
+        if (limit < 1 || limit > MAX_TOP_CATEGORIES) {
+            throw new InvalidRangeException("limit must be between 1 and " + MAX_TOP_CATEGORIES);
+        }
+
+        YearMonth firstWhole = from.getDayOfMonth() == 1 ? YearMonth.from(from) : YearMonth.from(from).plusMonths(1);
+        YearMonth lastWhole = to.equals(YearMonth.from(to).atEndOfMonth()) ? YearMonth.from(to) : YearMonth.from(to).minusMonths(1);
+
+        Map<String, Long> byCategory = new HashMap<>();
+
+        if (firstWhole.isAfter(lastWhole)) {
+            addAll(byCategory, expenseRepo.sumByCategoryBetween(userId, currency, from, to));
+        } else {
+            for (MonthlyCategoryTotal row : totals(userId, currency, firstWhole, lastWhole)) {
+                byCategory.merge(row.getCategory(), row.getTotalMinor(), Math::addExact);
+            }
+            if (from.isBefore(firstWhole.atDay(1))) {
+                addAll(byCategory, expenseRepo.sumByCategoryBetween(
+                        userId, currency, from, firstWhole.atDay(1).minusDays(1)));
+            }
+            if (to.isAfter(lastWhole.atEndOfMonth())) {
+                addAll(byCategory, expenseRepo.sumByCategoryBetween(
+                        userId, currency, lastWhole.atEndOfMonth().plusDays(1), to));
+            }
+        }
+
+        List<Map.Entry<String, Long>> ranked = new ArrayList<>(byCategory.entrySet());
+        ranked.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+
+        int top = Math.min(limit, ranked.size());
+        List<String> categories = new ArrayList<>(top);
+        long[] totals = new long[top];
+        long other = 0;
+        long total = 0;
+        for (int i = 0; i < ranked.size(); i++) {
+            long value = ranked.get(i).getValue();
+            if (i < top) {
+                categories.add(ranked.get(i).getKey());
+                totals[i] = value;
+            } else {
+                other = Math.addExact(other, value);
+            }
+            total = Math.addExact(total, value);
+        }
+
+        return new TopCategoriesResponse(
+                from, to, currency, categories, toMajor(totals, currency),
+                Money.toMajor(other, currency), Money.toMajor(total, currency));
+    }
+
+    // ---------- HELPERS ----------
+
+    private List<MonthlyCategoryTotal> totals(Long userId, String currency, YearMonth from, YearMonth to) {
+        return totalRepo.findBetween(userId, currency, from.getYear(), to.getYear(), period(from), period(to));
+    }
+
+    private static void addAll(Map<String, Long> byCategory, List<ExpenseSummaryResponse> sums) {
+        for (ExpenseSummaryResponse sum : sums) {
+            byCategory.merge(sum.getCategory(), sum.getTotalMinor(), Math::addExact);
+        }
+    }
+
+    private static double[] toMajor(long[] minor, String currency) {
+        double[] major = new double[minor.length];
+        for (int i = 0; i < minor.length; i++) {
+            major[i] = Money.toMajor(minor[i], currency);
+        }
+        return major;
+    }
+
+    private static int checkMonths(YearMonth from, YearMonth to) {
+        if (from.isAfter(to)) {
+            throw new InvalidRangeException("from must not be after to");
+        }
+        int months = period(to) - period(from) + 1;
+        if (months > MAX_MONTHS) {
+            throw new InvalidRangeException("Range must not exceed " + MAX_MONTHS + " months");
+        }
+        return months;
+    }
+
+    private static int period(YearMonth month) {
+        return period(month.getYear(), month.getMonthValue());
+    }
+
+    // 🔹 Same encoding as MonthlyCategoryTotalRepository.findBetween
+    private static int period(int year, int month) {
+        return year * 12 + month;
+    }
+}
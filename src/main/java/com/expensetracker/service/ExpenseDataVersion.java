@@ -0,0 +1,68 @@
+package com.expensetracker.service;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Per-user version of the expense data, used as the ETag for read endpoints
+ * and as part of every {@link ExpenseReadCache} key.
+ * <p>
+ * Versions live in the read cache's {@code expense-versions} cache, so with
+ * the distributed cache all replicas agree on them. A new version is a random
+ * 63-bit value: after an eviction or restart the user just gets a fresh
+ * version and clients refetch once. Writes bump the version only after their
+ * transaction commits, so a reader can never tag stale rows with the new
+ * version.
+ * <p>
+ * The commit time of each user's last write is kept next to the version in
+ * {@code expense-last-writes}, for read-replica routing to keep that user on
+ * the primary until replicas have caught up.
+ */
+@Component
+public class ExpenseDataVersion {
+
+    private final Cache versions;
+    private final Cache lastWrites;
+
+    public ExpenseDataVersion(CacheManager cacheManager) {
+        this.versions = cacheManager.getCache(ExpenseReadCache.VERSIONS);
+        this.lastWrites = cacheManager.getCache(ExpenseReadCache.LAST_WRITES);
+    }
+
+    public long current(Long userId) {
+        return versions.get(userId, ExpenseDataVersion::next);
+    }
+
+    public void bump(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    changed(userId);
+                }
+            });
+        } else {
+            changed(userId);
+        }
+    }
+
+    public boolean wroteWithin(Long userId, Duration window) {
+        Long lastWrite = lastWrites.get(userId, Long.class);
+        return lastWrite != null && System.currentTimeMillis() - lastWrite < window.toMillis();
+    }
+
+    private void changed(Long userId) {
+        versions.put(userId, next());
+        lastWrites.put(userId, System.currentTimeMillis());
+    }
+
+    private static long next() {
+        return ThreadLocalRandom.current().nextLong(Long.MAX_VALUE);
+    }
+}
@@ -0,0 +1,122 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.ExpenseResponse;
+import com.expensetracker.model.User;
+import com.expensetracker.repository.ExpenseRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes a user's full expense history as CSV or NDJSON.
+ * <p>
+ * Rows come from a forward-only database cursor as {@link ExpenseResponse}
+ * projections and are written as they arrive, so memory use does not depend
+ * on how much history the user has.
+ */
+@Service
+public class ExpenseExportService {
+
+    public static final String CSV = "csv";
+    public static final String NDJSON = "ndjson";
+
+    private static final String CSV_HEADER =
+            "id,title,amount,category,date,paymentMethod,notes,createdAt,currency\n";
+
+    private final ExpenseRepository expenseRepo;
+    private final ObjectMapper mapper;
+    private final ObjectWriter rowWriter;
+
+    public ExpenseExportService(ExpenseRepository expenseRepo, ObjectMapper mapper) {
+        this.expenseRepo = expenseRepo;
+        this.mapper = mapper;
+        this.rowWriter = mapper.writerFor(ExpenseResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public static boolean isSupported(String format) {
+        return CSV.equals(format) || NDJSON.equals(format);
+    }
+
+    // The stream needs an open transaction for as long as rows are read
+    @Transactional(readOnly = true)
+    public void export(User user, String format, OutputStream out) throws IOException {
+        try (Stream<ExpenseResponse> rows = expenseRepo.streamExpenseResponses(user)) {
+            if (NDJSON.equals(format)) {
+                writeNdjson(rows.iterator(), out);
+            } else {
+                writeCsv(rows.iterator(), out);
+            }
+        }
+    }
+
+    private void writeNdjson(Iterator<ExpenseResponse> rows, OutputStream out) throws IOException {
+        JsonGenerator generator = mapper.getFactory().createGenerator(out);
+        generator.setRootValueSeparator(null);
+
+        while (rows.hasNext()) {
+            rowWriter.writeValue(generator, rows.next());
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+
+    private static void writeCsv(Iterator<ExpenseResponse> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(CSV_HEADER);
+
+        while (rows.hasNext()) {
+            ExpenseResponse row = rows.next();
+            writer.write(String.valueOf(row.id));
+            writer.write(',');
+            writeCsvField(writer, row.title);
+            writer.write(',');
+            writer.write(String.valueOf(row.amount));
+            writer.write(',');
+            writeCsvField(writer, row.category);
+            writer.write(',');
+            writer.write(String.valueOf(row.date));
+            writer.write(',');
+            writeCsvField(writer, row.paymentMethod);
+            writer.write(',');
+            writeCsvField(writer, row.notes);
+            writer.write(',');
+            writer.write(String.valueOf(row.createdAt));
+            writer.write(',');
+            writer.write(row.currency);
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+
+        boolean quote = value.indexOf(',') >= 0
+                || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0
+                || value.indexOf('\r') >= 0;
+
+        if (quote) {
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        } else {
+            writer.write(value);
+        }
+    }
+}
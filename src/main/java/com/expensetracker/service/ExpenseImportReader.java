@@ -0,0 +1,227 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.ExpenseRequest;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Reads bulk-import bodies one row at a time, so the whole upload is never
+ * held in memory.
+ * <p>
+ * Supported: a JSON array of {@link ExpenseRequest} objects, NDJSON (one
+ * object per line) and CSV with a header row naming the request fields.
+ * A row that cannot be converted is reported with its error and reading
+ * continues; input that cannot be read past (broken JSON array syntax, a
+ * CSV header without required columns) stops the import.
+ */
+@Component
+public class ExpenseImportReader {
+
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    public static final MediaType CSV = MediaType.parseMediaType("text/csv");
+
+    private static final List<String> CSV_REQUIRED =
+            List.of("title", "amount", "category", "date", "paymentmethod");
+
+    private final ObjectMapper mapper;
+
+    public ExpenseImportReader(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    public record Row(long number, ExpenseRequest request, String error) {
+    }
+
+    public static class UnreadableImportException extends RuntimeException {
+
+        private final long row;
+
+        public UnreadableImportException(long row, String message) {
+            super(message);
+            this.row = row;
+        }
+
+        public long getRow() {
+            return row;
+        }
+    }
+
+    public void read(InputStream in, MediaType type, Consumer<Row> rows) throws IOException {
+        if (NDJSON.isCompatibleWith(type)) {
+            readNdjson(in, rows);
+        } else if (CSV.isCompatibleWith(type)) {
+            readCsv(in, rows);
+        } else {
+            readJsonArray(in, rows);
+        }
+    }
+
+    // ---------- JSON ARRAY ----------
+    private void readJsonArray(InputStream in, Consumer<Row> rows) throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(in)) {
+            long row = 0;
+
+            try {
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    throw new UnreadableImportException(0, "Expected a JSON array");
+                }
+
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    row++;
+                    JsonNode node = parser.readValueAsTree();
+                    rows.accept(fromJson(row, node));
+                }
+            } catch (JsonProcessingException ex) {
+                throw new UnreadableImportException(row, "Malformed JSON: " + ex.getOriginalMessage());
+            }
+        }
+    }
+
+    // ---------- NDJSON ----------
+    private void readNdjson(InputStream in, Consumer<Row> rows) throws IOException {
+        try (BufferedReader reader = reader(in)) {
+            long row = 0;
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                row++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                try {
+                    rows.accept(fromJson(row, mapper.readTree(line)));
+                } catch (JsonProcessingException ex) {
+                    rows.accept(new Row(row, null, "Malformed JSON: " + ex.getOriginalMessage()));
+                }
+            }
+        }
+    }
+
+    private Row fromJson(long row, JsonNode node) {
+        try {
+            return new Row(row, mapper.treeToValue(node, ExpenseRequest.class), null);
+        } catch (JsonProcessingException | IllegalArgumentException ex) {
+            return new Row(row, null, "Invalid row: " + ex.getMessage());
+        }
+    }
+
+    // ---------- CSV ----------
+    private void readCsv(InputStream in, Consumer<Row> rows) throws IOException {
+        try (BufferedReader reader = reader(in)) {
+            String header = reader.readLine();
+            if (header == null) {
+                return;
+            }
+
+            Map<String, Integer> columns = new HashMap<>();
+            List<String> names = splitCsv(header);
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            for (String required : CSV_REQUIRED) {
+                if (!columns.containsKey(required)) {
+                    throw new UnreadableImportException(0, "CSV header is missing column: " + required);
+                }
+            }
+
+            long row = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                row++;
+                if (!line.isBlank()) {
+                    rows.accept(fromCsv(row, splitCsv(line), columns));
+                }
+            }
+        }
+    }
+
+    private static Row fromCsv(long row, List<String> fields, Map<String, Integer> columns) {
+        ExpenseRequest request = new ExpenseRequest();
+
+        try {
+            request.title = field(fields, columns, "title");
+            request.category = field(fields, columns, "category");
+            request.paymentMethod = field(fields, columns, "paymentmethod");
+            request.notes = field(fields, columns, "notes");
+            request.currency = field(fields, columns, "currency");
+
+            String amount = field(fields, columns, "amount");
+            request.amount = amount != null ? Double.valueOf(amount) : null;
+
+            String date = field(fields, columns, "date");
+            request.date = date != null ? LocalDate.parse(date) : null;
+        } catch (NumberFormatException ex) {
+            return new Row(row, null, "Invalid amount");
+        } catch (DateTimeParseException ex) {
+            return new Row(row, null, "Invalid date, expected yyyy-MM-dd");
+        }
+
+        return new Row(row, request, null);
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // RFC 4180 quoting within a single line ("" escapes a quote)
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static BufferedReader reader(InputStream in) {
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+}
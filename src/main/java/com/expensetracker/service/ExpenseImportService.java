@@ -0,0 +1,191 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.BulkImportResponse;
+import com.expensetracker.dto.ExpenseRequest;
+import com.expensetracker.exception.InvalidAmountException;
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.Money;
+import com.expensetracker.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk expense import.
+ * <p>
+ * Rows are validated as they are read. Valid rows are inserted in chunks of
+ * {@code expense.import.batch-size}; each chunk is one transaction and one
+ * series of JDBC batches, and the persistence context is cleared between
+ * chunks so memory stays flat. Invalid rows are skipped and reported.
+ * <p>
+ * Chunks that committed stay committed. If the database rejects a chunk, the
+ * import stops there: the report counts the rows already inserted and names
+ * the rows of the failed chunk, and nothing after them is read.
+ */
+@Service
+public class ExpenseImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseImportService.class);
+
+    private final ExpenseImportReader reader;
+    private final Validator validator;
+    private final MonthlySummaryRollup rollup;
+    private final ExpenseSearchIndex searchIndex;
+    private final ExpenseDataVersion dataVersion;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    public ExpenseImportService(
+            ExpenseImportReader reader,
+            Validator validator,
+            MonthlySummaryRollup rollup,
+            ExpenseSearchIndex searchIndex,
+            ExpenseDataVersion dataVersion,
+            TransactionTemplate transactionTemplate,
+            @Value("${expense.import.batch-size:500}") int batchSize
+    ) {
+        this.reader = reader;
+        this.validator = validator;
+        this.rollup = rollup;
+        this.searchIndex = searchIndex;
+        this.dataVersion = dataVersion;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    public BulkImportResponse importExpenses(User user, InputStream body, MediaType type) throws IOException {
+        BulkImportResponse report = new BulkImportResponse();
+        Chunk chunk = new Chunk(batchSize);
+
+        try {
+            reader.read(body, type, row -> {
+                report.rowReceived();
+
+                if (row.error() != null) {
+                    report.rowFailed(row.number(), List.of(row.error()));
+                    return;
+                }
+
+                List<String> violations = validator.validate(row.request())
+                        .stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .toList();
+
+                if (!violations.isEmpty()) {
+                    report.rowFailed(row.number(), violations);
+                    return;
+                }
+
+                Expense expense;
+                try {
+                    expense = toExpense(row.request(), user);
+                } catch (InvalidAmountException ex) {
+                    report.rowFailed(row.number(), List.of(ex.getMessage()));
+                    return;
+                }
+
+                chunk.add(row.number(), expense);
+                if (chunk.expenses.size() == batchSize && !insert(user, chunk, report)) {
+                    throw new ImportStopped();
+                }
+            });
+        } catch (ExpenseImportReader.UnreadableImportException ex) {
+            report.abort(ex.getRow(), ex.getMessage());
+        } catch (ImportStopped ex) {
+            return report;
+        }
+
+        // Rows read before an unreadable part are still imported
+        if (!chunk.expenses.isEmpty()) {
+            insert(user, chunk, report);
+        }
+        return report;
+    }
+
+    // 🔹 False when the chunk was rolled back; earlier chunks are already committed
+    private boolean insert(User user, Chunk chunk, BulkImportResponse report) {
+        List<Expense> expenses = chunk.expenses;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                em.unwrap(Session.class).setJdbcBatchSize(batchSize);
+
+                for (Expense expense : expenses) {
+                    em.persist(expense);
+                }
+                rollup.addAll(user.getId(), expenses);
+                searchIndex.addAll(user.getId(), expenses);
+                dataVersion.bump(user.getId());
+
+                em.flush();
+                em.clear();
+            });
+        } catch (DataAccessException | PersistenceException ex) {
+            log.warn("Import for user {} stopped at rows {}-{}", user.getId(), chunk.firstRow, chunk.lastRow, ex);
+            report.chunkFailed(chunk.firstRow, chunk.lastRow);
+            return false;
+        }
+
+        report.rowsInserted(expenses.size());
+        expenses.clear();
+        return true;
+    }
+
+    private static final class Chunk {
+
+        private final List<Expense> expenses;
+        private long firstRow;
+        private long lastRow;
+
+        private Chunk(int capacity) {
+            this.expenses = new ArrayList<>(capacity);
+        }
+
+        private void add(long row, Expense expense) {
+            if (expenses.isEmpty()) {
+                firstRow = row;
+            }
+            lastRow = row;
+            expenses.add(expense);
+        }
+    }
+
+    // 🔹 Ends the read once a chunk is rejected
+    private static final class ImportStopped extends RuntimeException {
+
+        private ImportStopped() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static Expense toExpense(ExpenseRequest request, User user) {
+        Expense expense = new Expense();
+        expense.setTitle(request.title);
+        expense.setCurrency(Money.currencyOrDefault(request.currency));
+        expense.setAmountMinor(Money.toMinor(request.amount, expense.getCurrency()));
+        expense.setCategory(request.category);
+        expense.setDate(request.date);
+        expense.setPaymentMethod(request.paymentMethod);
+        expense.setNotes(request.notes);
+        expense.setUser(user);
+        return expense;
+    }
+}
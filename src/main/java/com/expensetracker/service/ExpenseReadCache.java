@@ -0,0 +1,86 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.ExpenseResponse;
+import com.expensetracker.dto.ExpenseSummaryResponse;
+import com.expensetracker.model.User;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Read-through cache in front of the hottest {@link ExpenseService} reads:
+ * monthly summaries and first pages of the expense list.
+ * <p>
+ * Keys are {@code userId:dataVersion:params}. A write bumps the user's
+ * {@link ExpenseDataVersion}, which invalidates exactly that user's entries
+ * without scanning the cache; the old entries age out through the cache's
+ * size and TTL bounds. Hits never open a transaction.
+ */
+@Service
+public class ExpenseReadCache {
+
+    public static final String SUMMARIES = "expense-summaries";
+    public static final String FIRST_PAGES = "expense-first-pages";
+    public static final String VERSIONS = "expense-versions";
+    public static final String LAST_WRITES = "expense-last-writes";
+    public static final String BUDGETS = "expense-budgets";
+    public static final List<String> CACHE_NAMES = List.of(SUMMARIES, FIRST_PAGES, VERSIONS, LAST_WRITES, BUDGETS);
+
+    private final ExpenseService expenseService;
+    private final ExpenseDataVersion dataVersion;
+    private final Cache summaries;
+    private final Cache firstPages;
+
+    public ExpenseReadCache(ExpenseService expenseService,
+                            ExpenseDataVersion dataVersion,
+                            CacheManager cacheManager) {
+        this.expenseService = expenseService;
+        this.dataVersion = dataVersion;
+        this.summaries = cacheManager.getCache(SUMMARIES);
+        this.firstPages = cacheManager.getCache(FIRST_PAGES);
+    }
+
+    // ---------- SUMMARY ----------
+    public List<ExpenseSummaryResponse> getMonthlySummary(User user, int month, int year) {
+        return summaries.get(
+                key(user.getId(), month, year),
+                () -> expenseService.getMonthlySummary(user, month, year)
+        );
+    }
+
+    // ---------- FILTER (DTO) ----------
+    // 🔹 Only the first page is cached; deeper pages are rare and would crowd it out
+    public Page<ExpenseResponse> getFilteredExpenseResponses(
+            User user,
+            String category,
+            LocalDate from,
+            LocalDate to,
+            Pageable pageable
+    ) {
+        if (pageable.getPageNumber() != 0) {
+            return expenseService.getFilteredExpenseResponses(user, category, from, to, pageable);
+        }
+
+        return firstPages.get(
+                key(user.getId(), category, from, to, pageable.getPageSize(), pageable.getSort()),
+                () -> expenseService.getFilteredExpenseResponses(user, category, from, to, pageable)
+        );
+    }
+
+    private String key(Long userId, Object... params) {
+        StringBuilder key = new StringBuilder()
+                .append(userId)
+                .append(':')
+                .append(dataVersion.current(userId));
+
+        for (Object param : params) {
+            key.append(':').append(param);
+        }
+        return key.toString();
+    }
+}
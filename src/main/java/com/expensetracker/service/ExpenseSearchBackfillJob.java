@@ -0,0 +1,33 @@
+package com.expensetracker.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the search index on startup when expenses exist but the index is
+ * empty, i.e. the first start after search was introduced.
+ */
+@Component
+public class ExpenseSearchBackfillJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseSearchBackfillJob.class);
+
+    private final ExpenseSearchIndex searchIndex;
+
+    public ExpenseSearchBackfillJob(ExpenseSearchIndex searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (searchIndex.needsBackfill()) {
+            long start = System.currentTimeMillis();
+            int expenses = searchIndex.rebuild();
+            log.info("Built expense search index: {} expenses in {} ms",
+                    expenses, System.currentTimeMillis() - start);
+        }
+    }
+}
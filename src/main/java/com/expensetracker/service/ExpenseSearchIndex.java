@@ -0,0 +1,119 @@
+package com.expensetracker.service;
+
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.ExpenseSearchTerm;
+import com.expensetracker.repository.ExpenseRepository;
+import com.expensetracker.repository.ExpenseSearchTermRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Maintains the {@link ExpenseSearchTerm} index alongside expense writes,
+ * the same way {@link MonthlySummaryRollup} maintains the monthly totals:
+ * every write updates the index inside the caller's transaction.
+ * {@link #rebuild} recomputes it from the expense table for data written
+ * before the index existed.
+ */
+@Service
+public class ExpenseSearchIndex {
+
+    private static final int REBUILD_CHUNK = 500;
+
+    private final ExpenseSearchTermRepository termRepo;
+    private final ExpenseRepository expenseRepo;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    public ExpenseSearchIndex(
+            ExpenseSearchTermRepository termRepo,
+            ExpenseRepository expenseRepo
+    ) {
+        this.termRepo = termRepo;
+        this.expenseRepo = expenseRepo;
+    }
+
+    // ---------- WRITE PATH ----------
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(Long userId, Expense expense) {
+        persist(ExpenseSearchTerm.of(userId, expense.getId(), expense.getTitle(), expense.getNotes()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addAll(Long userId, Collection<Expense> expenses) {
+        for (Expense expense : expenses) {
+            add(userId, expense);
+        }
+    }
+
+    // 🔹 Title and notes are always written together, so the entries are replaced wholesale
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void replace(Long userId, Long expenseId, String title, String notes) {
+        termRepo.deleteByExpenseIds(userId, List.of(expenseId));
+        persist(ExpenseSearchTerm.of(userId, expenseId, title, notes));
+    }
+
+    // 🔹 Batch notes change: titles are read once for the whole batch
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void replaceNotes(Long userId, Collection<Long> expenseIds, String notes) {
+        termRepo.deleteByExpenseIds(userId, expenseIds);
+        for (Expense expense : expenseRepo.findAllById(expenseIds)) {
+            persist(ExpenseSearchTerm.of(userId, expense.getId(), expense.getTitle(), notes));
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeAll(Long userId, Collection<Long> expenseIds) {
+        termRepo.deleteByExpenseIds(userId, expenseIds);
+    }
+
+    private void persist(List<ExpenseSearchTerm> terms) {
+        for (ExpenseSearchTerm term : terms) {
+            em.persist(term);
+        }
+    }
+
+    // ---------- REBUILD ----------
+
+    /**
+     * Re-indexes every expense, flushing in chunks so the persistence
+     * context stays small. Returns the number of expenses indexed.
+     */
+    @Transactional
+    public int rebuild() {
+        termRepo.deleteAllRows();
+        em.unwrap(Session.class).setJdbcBatchSize(REBUILD_CHUNK);
+
+        int indexed = 0;
+        List<ExpenseSearchTerm> pending = new ArrayList<>();
+        try (Stream<Expense> expenses = expenseRepo.streamAllForIndexing()) {
+            for (Expense expense : (Iterable<Expense>) expenses::iterator) {
+                pending.addAll(ExpenseSearchTerm.of(
+                        expense.getUser().getId(), expense.getId(), expense.getTitle(), expense.getNotes()));
+
+                if (++indexed % REBUILD_CHUNK == 0) {
+                    persist(pending);
+                    pending.clear();
+                    em.flush();
+                    em.clear();
+                }
+            }
+        }
+        persist(pending);
+        return indexed;
+    }
+
+    @Transactional(readOnly = true)
+    public boolean needsBackfill() {
+        return termRepo.count() == 0 && expenseRepo.count() > 0;
+    }
+}
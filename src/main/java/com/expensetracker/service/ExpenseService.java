@@ -1,39 +1,73 @@
 package com.expensetracker.service;
 
+import com.expensetracker.exception.InvalidSearchException;
 import com.expensetracker.model.Expense;
+import com.expensetracker.model.ExpenseSearchTerm;
+import com.expensetracker.model.MonthlyCategoryTotal;
 import com.expensetracker.model.User;
 import com.expensetracker.repository.ExpenseRepository;
+import com.expensetracker.repository.ExpenseSpecifications;
+import com.expensetracker.dto.BatchMutationResponse;
+import com.expensetracker.dto.CursorPage;
+import com.expensetracker.dto.ExpenseCursor;
 import com.expensetracker.dto.ExpenseResponse;
 import com.expensetracker.dto.ExpenseSummaryResponse;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class ExpenseService {
 
+    public static final int MAX_SEARCH_TERMS = 8;
+
     private final ExpenseRepository expenseRepo;
+    private final MonthlySummaryRollup rollup;
+    private final ExpenseSearchIndex searchIndex;
+    private final ExpenseDataVersion dataVersion;
+    private final MeterRegistry meterRegistry;
 
-    public ExpenseService(ExpenseRepository expenseRepo) {
+    public ExpenseService(ExpenseRepository expenseRepo,
+                          MonthlySummaryRollup rollup,
+                          ExpenseSearchIndex searchIndex,
+                          ExpenseDataVersion dataVersion,
+                          MeterRegistry meterRegistry) {
         this.expenseRepo = expenseRepo;
+        this.rollup = rollup;
+        this.searchIndex = searchIndex;
+        this.dataVersion = dataVersion;
+        this.meterRegistry = meterRegistry;
     }
 
     // ---------- CREATE ----------
+    @Transactional
     public Expense addExpense(Expense expense) {
-        return expenseRepo.save(expense);
+        Expense saved = expenseRepo.save(expense);
+        rollup.add(saved.getUser().getId(), saved);
+        searchIndex.add(saved.getUser().getId(), saved);
+        dataVersion.bump(saved.getUser().getId());
+        return saved;
     }
 
     // ---------- READ BASIC ----------
+    @Transactional(readOnly = true)
     public List<Expense> getExpensesForUser(User user) {
         return expenseRepo.findByUser(user);
     }
 
     // ---------- FILTER (ENTITY) ----------
+    @Transactional(readOnly = true)
     public Page<Expense> getFilteredExpenses(
             User user,
             String category,
@@ -45,6 +79,8 @@ public class ExpenseService {
     }
 
     // ---------- FILTER (DTO) ----------
+    // Projected straight into ExpenseResponse, no managed entities
+    @Transactional(readOnly = true)
     public Page<ExpenseResponse> getFilteredExpenseResponses(
             User user,
             String category,
@@ -52,50 +88,213 @@ public class ExpenseService {
             LocalDate to,
             Pageable pageable
     ) {
-        return expenseRepo
-                .findFilteredExpenses(user, category, from, to, pageable)
-                .map(e -> new ExpenseResponse(
-                        e.getId(),
-                        e.getTitle(),
-                        e.getAmount(),
-                        e.getCategory(),
-                        e.getDate(),
-                        e.getPaymentMethod(),
-                        e.getNotes()
-                ));
+        return queryTimer("page", category, from, to).record(() -> expenseRepo.findExpenseResponses(
+                ExpenseSpecifications.filtered(user, category, from, to),
+                pageable
+        ));
+    }
+
+    // ---------- FILTER (KEYSET) ----------
+    @Transactional(readOnly = true)
+    public CursorPage<ExpenseResponse> getFilteredExpenseSlice(
+            User user,
+            String category,
+            LocalDate from,
+            LocalDate to,
+            String cursor,
+            boolean ascending,
+            int size
+    ) {
+        ExpenseCursor after = ExpenseCursor.decode(cursor);
+
+        // One extra row tells us whether another slice exists
+        List<ExpenseResponse> rows = queryTimer("keyset", category, from, to).record(
+                () -> expenseRepo.findExpenseResponsesAfter(user, category, from, to, after, ascending, size + 1)
+        );
+
+        boolean hasNext = rows.size() > size;
+        if (hasNext) {
+            rows = rows.subList(0, size);
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            ExpenseResponse last = rows.get(rows.size() - 1);
+            nextCursor = new ExpenseCursor(last.createdAt, last.id).encode();
+        }
+
+        return new CursorPage<>(rows, nextCursor);
     }
 
     // ---------- UPDATE ----------
-    public Expense updateExpense(User user, Long id, Expense updated) {
-        Expense expense = expenseRepo
-                .findByIdAndUser(id, user)
-                .orElseThrow(() -> new AccessDeniedException("Not allowed"));
 
-        expense.setTitle(updated.getTitle());
-        expense.setAmount(updated.getAmount());
-        expense.setCategory(updated.getCategory());
-        expense.setDate(updated.getDate());
-        expense.setPaymentMethod(updated.getPaymentMethod());
-        expense.setNotes(updated.getNotes());
+    /**
+     * Applies {@code updated} to the caller's expense without loading it.
+     * Only an edit that keeps the amount, currency, category and month is a
+     * single UPDATE; any other edit takes the old values out of the rollup by
+     * id, rewrites the row and adds the new values back. If the bucket is
+     * unchanged, budgets see only the net change of the amount. Ownership is
+     * the row count of the expense UPDATE itself; a miss rolls the rollup back.
+     */
+    @Transactional
+    public void updateExpense(User user, Long id, Expense updated) {
+        Long userId = user.getId();
+
+        int inPlace = expenseRepo.updateInPlace(
+                id, userId,
+                updated.getTitle(), updated.getDate(), updated.getPaymentMethod(), updated.getNotes(),
+                updated.getAmountMinor(), updated.getCurrency(), updated.getCategory(),
+                updated.getDate().getYear(), updated.getDate().getMonthValue()
+        );
 
-        return expenseRepo.save(expense);
+        if (inPlace == 0) {
+            MonthlyCategoryTotal removed = rollup.remove(userId, id);
+            int owned = expenseRepo.updateOwned(
+                    id, userId,
+                    updated.getTitle(), updated.getAmountMinor(), updated.getCurrency(),
+                    updated.getCategory(), updated.getDate(), updated.getPaymentMethod(), updated.getNotes()
+            );
+            if (owned == 0) {
+                throw new AccessDeniedException("Not allowed");
+            }
+            rollup.add(userId, updated, removed);
+        }
+        searchIndex.replace(userId, id, updated.getTitle(), updated.getNotes());
+        dataVersion.bump(userId);
+    }
+
+    // 🔹 Same write, then reads the stored row back for clients that want a representation
+    @Transactional
+    public ExpenseResponse updateExpenseAndRead(User user, Long id, Expense updated) {
+        updateExpense(user, id, updated);
+        return expenseRepo.findExpenseResponse(id, user.getId());
     }
 
     // ---------- DELETE ----------
+    @Transactional
     public void deleteExpense(User user, Long id) {
-        Expense expense = expenseRepo
-                .findByIdAndUser(id, user)
-                .orElseThrow(() -> new AccessDeniedException("Not allowed"));
+        // 🔹 Before the DELETE, while the row still says which bucket it counted in
+        rollup.remove(user.getId(), id);
+        if (expenseRepo.deleteOwned(id, user.getId()) == 0) {
+            throw new AccessDeniedException("Not allowed");
+        }
+        searchIndex.removeAll(user.getId(), List.of(id));
+        dataVersion.bump(user.getId());
+    }
+
+    // ---------- BATCH ----------
+
+    /**
+     * Deletes the caller's expenses among {@code ids} with one DELETE. The
+     * rollup is adjusted once per touched bucket and the data version is
+     * bumped once for the whole batch.
+     */
+    @Transactional
+    public BatchMutationResponse deleteExpenses(User user, List<Long> ids) {
+        Long userId = user.getId();
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        Set<Long> owned = new HashSet<>(expenseRepo.findOwnedIds(userId, requested));
+
+        if (!owned.isEmpty()) {
+            rollup.subtractAll(userId, expenseRepo.aggregateMonthlyTotalsOf(userId, owned));
+            expenseRepo.deleteAllOwned(userId, owned);
+            searchIndex.removeAll(userId, owned);
+            dataVersion.bump(userId);
+        }
+
+        return outcomes(requested, owned, BatchMutationResponse.Status.DELETED);
+    }
 
-        expenseRepo.delete(expense);
+    // 🔹 Same shape as deleteExpenses; only a category change touches the rollup
+    @Transactional
+    public BatchMutationResponse patchExpenses(User user, List<Long> ids,
+                                               String category, String paymentMethod, String notes) {
+        Long userId = user.getId();
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        Set<Long> owned = new HashSet<>(expenseRepo.findOwnedIds(userId, requested));
+
+        if (!owned.isEmpty()) {
+            if (category != null) {
+                List<MonthlyCategoryTotal> buckets = expenseRepo.aggregateMonthlyTotalsOf(userId, owned);
+                rollup.recategorize(userId, buckets, category);
+            }
+            expenseRepo.patchAllOwned(userId, owned, category, paymentMethod, notes);
+            if (notes != null) {
+                searchIndex.replaceNotes(userId, owned, notes);
+            }
+            dataVersion.bump(userId);
+        }
+
+        return outcomes(requested, owned, BatchMutationResponse.Status.UPDATED);
+    }
+
+    private static BatchMutationResponse outcomes(Set<Long> requested, Set<Long> owned,
+                                                  BatchMutationResponse.Status applied) {
+        BatchMutationResponse response = new BatchMutationResponse();
+        for (Long id : requested) {
+            response.outcome(id, owned.contains(id) ? applied : BatchMutationResponse.Status.NOT_FOUND);
+        }
+        return response;
     }
 
     // ---------- SUMMARY ----------
+    @Transactional(readOnly = true)
     public List<ExpenseSummaryResponse> getMonthlySummary(
             User user,
             int month,
             int year
     ) {
-        return expenseRepo.getMonthlySummary(user, month, year);
+        return rollup.getMonthlySummary(user.getId(), month, year);
+    }
+
+    // ---------- SEARCH ----------
+    @Transactional(readOnly = true)
+    public Page<ExpenseResponse> searchExpenseResponses(
+            User user,
+            String query,
+            String category,
+            LocalDate from,
+            LocalDate to,
+            Pageable pageable
+    ) {
+        List<String> terms = searchTerms(query);
+
+        return queryTimer("search", category, from, to).record(() -> expenseRepo.searchExpenseResponses(
+                user.getId(), terms, category, from, to, pageable
+        ));
+    }
+
+    // 🔹 Drops terms that prefix another one: whatever matches "groceries" also matches "groc"
+    static List<String> searchTerms(String query) {
+        List<String> tokens = ExpenseSearchTerm.tokens(query).stream().distinct().toList();
+
+        if (tokens.isEmpty()) {
+            throw new InvalidSearchException("Search text must contain a letter or digit");
+        }
+        if (tokens.size() > MAX_SEARCH_TERMS) {
+            throw new InvalidSearchException("Search text must not exceed " + MAX_SEARCH_TERMS + " words");
+        }
+
+        return tokens.stream()
+                .filter(term -> tokens.stream().noneMatch(other -> !other.equals(term) && other.startsWith(term)))
+                .toList();
+    }
+
+    // ---------- METRICS ----------
+    // 🔹 expense.query{query=page|keyset|search, filter=none|category|dates|category_dates}
+    private Timer queryTimer(String query, String category, LocalDate from, LocalDate to) {
+        boolean byCategory = category != null;
+        boolean byDate = from != null || to != null;
+
+        String filter = byCategory && byDate ? "category_dates"
+                : byCategory ? "category"
+                : byDate ? "dates"
+                : "none";
+
+        return Timer.builder("expense.query")
+                .tag("query", query)
+                .tag("filter", filter)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
-}
\ No newline at end of file
+}
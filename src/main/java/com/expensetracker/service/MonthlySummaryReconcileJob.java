@@ -0,0 +1,43 @@
+package com.expensetracker.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the monthly rollup in step with the expense table.
+ * <p>
+ * On startup it backfills an empty rollup from existing expenses. A periodic
+ * full reconcile can be enabled with {@code expense.rollup.reconcile-cron}
+ * (disabled by default).
+ */
+@Component
+public class MonthlySummaryReconcileJob {
+
+    private static final Logger log = LoggerFactory.getLogger(MonthlySummaryReconcileJob.class);
+
+    private final MonthlySummaryRollup rollup;
+
+    public MonthlySummaryReconcileJob(MonthlySummaryRollup rollup) {
+        this.rollup = rollup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (rollup.needsBackfill()) {
+            log.info("Monthly summary rollup is empty, rebuilding from expenses");
+            reconcile();
+        }
+    }
+
+    @Scheduled(cron = "${expense.rollup.reconcile-cron:-}")
+    public void reconcile() {
+        long start = System.currentTimeMillis();
+        int rows = rollup.rebuild(null);
+        log.info("Rebuilt monthly summary rollup: {} rows in {} ms",
+                rows, System.currentTimeMillis() - start);
+    }
+}
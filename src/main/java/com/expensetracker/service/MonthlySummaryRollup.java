@@ -0,0 +1,193 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.ExpenseSummaryResponse;
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.MonthlyCategoryTotal;
+import com.expensetracker.repository.ExpenseRepository;
+import com.expensetracker.repository.MonthlyCategoryTotalRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains {@link MonthlyCategoryTotal} rows alongside expense writes.
+ * <p>
+ * Every expense write applies its delta inside the caller's transaction,
+ * so the rollup always matches the committed expense rows. Increases are
+ * passed on to {@link BudgetService} for threshold checks; an edit that
+ * stays in its bucket passes on only its net change. {@link #rebuild}
+ * recomputes it from the expense table for data written before the rollup
+ * existed, or to reconcile drift.
+ */
+@Service
+public class MonthlySummaryRollup {
+
+    private final MonthlyCategoryTotalRepository totalRepo;
+    private final ExpenseRepository expenseRepo;
+    private final BudgetService budgets;
+
+    public MonthlySummaryRollup(
+            MonthlyCategoryTotalRepository totalRepo,
+            ExpenseRepository expenseRepo,
+            BudgetService budgets
+    ) {
+        this.totalRepo = totalRepo;
+        this.expenseRepo = expenseRepo;
+        this.budgets = budgets;
+    }
+
+    // ---------- WRITE PATH ----------
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(Long userId, Expense expense) {
+        apply(userId, expense.getDate(), expense.getCategory(), expense.getCurrency(), expense.getAmountMinor(), 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void remove(Long userId, Expense expense) {
+        apply(userId, expense.getDate(), expense.getCategory(), expense.getCurrency(), -expense.getAmountMinor(), -1);
+    }
+
+    // 🔹 Re-adds an expense removed by id; within the same bucket only the net change is checked against budgets
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(Long userId, Expense expense, MonthlyCategoryTotal removed) {
+        LocalDate date = expense.getDate();
+        long increase = expense.getAmountMinor();
+
+        if (removed != null
+                && removed.getYear() == date.getYear()
+                && removed.getMonth() == date.getMonthValue()
+                && removed.getCategory().equals(expense.getCategory())
+                && removed.getCurrency().equals(expense.getCurrency())) {
+            increase -= removed.getTotalMinor();
+        }
+        apply(userId, date, expense.getCategory(), expense.getCurrency(), expense.getAmountMinor(), 1, increase);
+    }
+
+    /**
+     * Subtracts an expense the caller never loaded and returns the bucket
+     * and amount it counted for, or {@code null} if the caller does not own
+     * it. Ownership is still the caller's row count to check.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public MonthlyCategoryTotal remove(Long userId, Long expenseId) {
+        List<MonthlyCategoryTotal> buckets = expenseRepo.aggregateMonthlyTotalsOf(userId, List.of(expenseId));
+        if (buckets.isEmpty()) {
+            return null;
+        }
+
+        MonthlyCategoryTotal removed = buckets.get(0);
+        subtractAll(userId, buckets);
+        return removed;
+    }
+
+    // 🔹 Bulk writes: one rollup statement per touched bucket, not per row
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addAll(Long userId, Collection<Expense> expenses) {
+        Map<Bucket, long[]> deltas = new HashMap<>();
+
+        for (Expense expense : expenses) {
+            Bucket bucket = new Bucket(
+                    YearMonth.from(expense.getDate()), expense.getCategory(), expense.getCurrency());
+            long[] delta = deltas.computeIfAbsent(bucket, b -> new long[2]);
+            delta[0] = Math.addExact(delta[0], expense.getAmountMinor());
+            delta[1]++;
+        }
+
+        deltas.forEach((bucket, delta) -> apply(
+                userId, bucket.month().atDay(1), bucket.category(), bucket.currency(), delta[0], delta[1]
+        ));
+    }
+
+    // 🔹 Batch deletes: buckets from ExpenseRepository.aggregateMonthlyTotalsOf
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void subtractAll(Long userId, List<MonthlyCategoryTotal> buckets) {
+        for (MonthlyCategoryTotal bucket : buckets) {
+            apply(userId, LocalDate.of(bucket.getYear(), bucket.getMonth(), 1), bucket.getCategory(),
+                    bucket.getCurrency(), -bucket.getTotalMinor(), -bucket.getExpenseCount());
+        }
+    }
+
+    // 🔹 Batch recategorization: each bucket moves to the same month and currency under category
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recategorize(Long userId, List<MonthlyCategoryTotal> buckets, String category) {
+        Map<Bucket, long[]> moved = new HashMap<>();
+
+        for (MonthlyCategoryTotal bucket : buckets) {
+            if (bucket.getCategory().equals(category)) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(bucket.getYear(), bucket.getMonth());
+            apply(userId, month.atDay(1), bucket.getCategory(), bucket.getCurrency(),
+                    -bucket.getTotalMinor(), -bucket.getExpenseCount());
+
+            long[] delta = moved.computeIfAbsent(
+                    new Bucket(month, category, bucket.getCurrency()), b -> new long[2]);
+            delta[0] = Math.addExact(delta[0], bucket.getTotalMinor());
+            delta[1] += bucket.getExpenseCount();
+        }
+
+        moved.forEach((bucket, delta) -> apply(
+                userId, bucket.month().atDay(1), bucket.category(), bucket.currency(), delta[0], delta[1]
+        ));
+    }
+
+    private void apply(Long userId, LocalDate date, String category, String currency,
+                       long amountMinor, long count) {
+        apply(userId, date, category, currency, amountMinor, count, amountMinor);
+    }
+
+    private void apply(Long userId, LocalDate date, String category, String currency,
+                       long amountMinor, long count, long increase) {
+        int year = date.getYear();
+        int month = date.getMonthValue();
+
+        // 🔹 One statement whether or not the bucket exists; concurrent first writes queue on its key
+        totalRepo.upsertTotal(userId, year, month, category, currency, amountMinor, count);
+
+        // 🔹 Only increases can cross a budget threshold
+        if (increase > 0) {
+            budgets.spendingIncreased(userId, YearMonth.of(year, month), category, currency, increase);
+        }
+    }
+
+    private record Bucket(YearMonth month, String category, String currency) {
+    }
+
+    // ---------- READ PATH ----------
+    @Transactional(readOnly = true)
+    public List<ExpenseSummaryResponse> getMonthlySummary(Long userId, int month, int year) {
+        return totalRepo.getMonthlySummary(userId, month, year);
+    }
+
+    // ---------- REBUILD ----------
+
+    /**
+     * Recomputes the rollup from the expense table, for one user or for
+     * everyone when {@code userId} is {@code null}. Writes that race with a
+     * rebuild of the same user may fail on the unique key and can be retried.
+     */
+    @Transactional
+    public int rebuild(Long userId) {
+        if (userId == null) {
+            totalRepo.deleteAllRows();
+        } else {
+            totalRepo.deleteByUserId(userId);
+        }
+
+        List<MonthlyCategoryTotal> totals = expenseRepo.aggregateMonthlyTotals(userId);
+        totalRepo.saveAll(totals);
+        return totals.size();
+    }
+
+    @Transactional(readOnly = true)
+    public boolean needsBackfill() {
+        return totalRepo.count() == 0 && expenseRepo.count() > 0;
+    }
+}
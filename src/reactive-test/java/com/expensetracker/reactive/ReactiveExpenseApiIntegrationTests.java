@@ -0,0 +1,240 @@
+package com.expensetracker.reactive;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The servlet mode's ExpenseApiIntegrationTests scenarios for the core
+ * contract, run against the WebFlux + R2DBC application on Netty.
+ */
+@SpringBootTest(
+        classes = ReactiveExpenseTrackerApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.main.web-application-type=reactive",
+                "spring.r2dbc.url=r2dbc:h2:mem:///reactive_expense_tracker;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "spring.r2dbc.username=sa",
+                "spring.r2dbc.password="
+        }
+)
+@ActiveProfiles("reactive")
+class ReactiveExpenseApiIntegrationTests {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    private String token;
+
+    @BeforeEach
+    void registerAndLogin() {
+        token = newUserToken();
+    }
+
+    private String newUserToken() {
+        String credentials = """
+                {"email": "%s@example.com", "password": "secret"}
+                """.formatted(UUID.randomUUID());
+
+        client.post().uri("/users/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(credentials)
+                .exchange()
+                .expectStatus().isCreated();
+
+        client.post().uri("/users/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(credentials)
+                .exchange()
+                .expectStatus().isEqualTo(409);
+
+        return client.post().uri("/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(credentials)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    @Test
+    void createListUpdateSummarizeAndDelete() throws Exception {
+        long first = create("Groceries", 40.5, "Food", "2024-03-02");
+        create("Rent", 900, "Housing", "2024-03-01");
+        create("Dinner", 19.5, "Food", "2024-03-15");
+        create("Lunch", 12, "Food", "2024-04-01");
+
+        client.get().uri("/expenses?size=3&sortBy=date&sortDir=asc")
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalElements").isEqualTo(4)
+                .jsonPath("$.totalPages").isEqualTo(2)
+                .jsonPath("$.content[0].title").isEqualTo("Rent");
+
+        client.get().uri("/expenses/filter?category=Food&from=2024-03-01&to=2024-03-31")
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalElements").isEqualTo(2);
+
+        client.put().uri("/expenses/" + first)
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body("Groceries", 60, "Food", "2024-03-02"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.amount").isEqualTo(60.0)
+                .jsonPath("$.currency").isEqualTo("USD");
+
+        JsonNode summary = summary(3, 2024);
+        assertThat(summary).hasSize(2);
+        assertThat(total(summary, "Food")).isEqualTo(79.5);
+        assertThat(total(summary, "Housing")).isEqualTo(900.0);
+
+        client.delete().uri("/expenses/" + first)
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        assertThat(total(summary(3, 2024), "Food")).isEqualTo(19.5);
+    }
+
+    @Test
+    void changesOnlyOwnExpensesAndKeepsTotalsInStep() throws Exception {
+        long id = create("Gym", 30, "Health", "2024-09-01");
+        String other = newUserToken();
+
+        client.put().uri("/expenses/" + id)
+                .header("Authorization", "Bearer " + other)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body("Mine now", 1, "Health", "2024-09-01"))
+                .exchange()
+                .expectStatus().isForbidden();
+        client.delete().uri("/expenses/" + id)
+                .header("Authorization", "Bearer " + other)
+                .exchange()
+                .expectStatus().isForbidden();
+
+        // Same amount, category and month: updated in place
+        client.put().uri("/expenses/" + id)
+                .header("Authorization", "Bearer " + token)
+                .header("Prefer", "return=minimal")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body("Gym pass", 30, "Health", "2024-09-20"))
+                .exchange()
+                .expectStatus().isNoContent()
+                .expectHeader().valueEquals("Preference-Applied", "return=minimal");
+        assertThat(total(summary(9, 2024), "Health")).isEqualTo(30.0);
+
+        // Moves to another month
+        client.put().uri("/expenses/" + id)
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body("Gym pass", 45, "Health", "2024-10-02"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Gym pass")
+                .jsonPath("$.createdAt").exists();
+        assertThat(total(summary(9, 2024), "Health")).isEqualTo(0.0);
+        assertThat(total(summary(10, 2024), "Health")).isEqualTo(45.0);
+
+        client.delete().uri("/expenses/" + id)
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isNoContent();
+        assertThat(total(summary(10, 2024), "Health")).isEqualTo(0.0);
+    }
+
+    @Test
+    void rejectsInvalidExpensesAndUnknownSortColumns() {
+        client.post().uri("/expenses")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        {"title": "", "amount": -1, "category": "Food", "date": "2024-01-01",
+                         "paymentMethod": "Card"}
+                        """)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors.length()").isEqualTo(2);
+
+        client.get().uri("/expenses?sortBy=password")
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void rejectsRequestsWithoutToken() {
+        client.get().uri("/expenses")
+                .exchange()
+                .expectStatus().isForbidden();
+
+        client.get().uri("/expenses")
+                .header("Authorization", "Bearer not-a-token")
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    private long create(String title, double amount, String category, String date) throws Exception {
+        String response = client.post().uri("/expenses")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body(title, amount, category, date))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        return mapper.readTree(response).get("id").asLong();
+    }
+
+    private JsonNode summary(int month, int year) throws Exception {
+        String response = client.get().uri("/expenses/summary?month={month}&year={year}", month, year)
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        return mapper.readTree(response);
+    }
+
+    private static double total(JsonNode summary, String category) {
+        for (JsonNode row : summary) {
+            if (row.get("category").asText().equals(category)) {
+                return row.get("total").asDouble();
+            }
+        }
+        return 0;
+    }
+
+    private static String body(String title, double amount, String category, String date) {
+        return """
+                {"title": "%s", "amount": %s, "category": "%s", "date": "%s",
+                 "paymentMethod": "Card", "notes": "test"}
+                """.formatted(title, amount, category, date);
+    }
+}
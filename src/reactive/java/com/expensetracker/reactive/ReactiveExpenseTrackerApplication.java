@@ -0,0 +1,61 @@
+package com.expensetracker.reactive;
+
+import com.expensetracker.exception.GlobalExceptionHandler;
+import com.expensetracker.security.PasswordHasher;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.hazelcast.HazelcastAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Reactive deployment mode: the {@code /users} and {@code /expenses} core
+ * contract on WebFlux, with R2DBC instead of JDBC/JPA. Built and run with
+ * {@code mvn -Preactive}; scans only {@code com.expensetracker.reactive} and
+ * shares the DTOs, {@link com.expensetracker.security.JwtUtil},
+ * {@link PasswordHasher} and error mapping with the servlet application.
+ * <p>
+ * It owns its database: never run it against one that servlet instances
+ * serve, since reactive writes skip their cache invalidation and budget
+ * alerts (see {@code ReactiveExpenseService}). There is no per-user rate
+ * limiter ({@code RateLimitFilter}) in this mode; page sizes are capped.
+ */
+@SpringBootApplication(exclude = {
+        DataSourceAutoConfiguration.class,
+        DataSourceTransactionManagerAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class,
+        FlywayAutoConfiguration.class,
+        HazelcastAutoConfiguration.class,
+        ReactiveUserDetailsServiceAutoConfiguration.class
+})
+@Import({PasswordHasher.class, GlobalExceptionHandler.class})
+public class ReactiveExpenseTrackerApplication {
+
+    public static void main(String[] args) {
+        SpringApplication app = new SpringApplication(ReactiveExpenseTrackerApplication.class);
+        app.setWebApplicationType(WebApplicationType.REACTIVE);
+        app.setAdditionalProfiles("reactive");
+        app.run(args);
+    }
+
+    // 🔹 Boot only auto-configures DatabaseClient together with Spring Data R2DBC
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    // 🔹 Tomcat is still on the classpath through spring-boot-starter-web; serve on Netty
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,164 @@
+package com.expensetracker.reactive.controller;
+
+import com.expensetracker.dto.ExpenseRequest;
+import com.expensetracker.dto.ExpenseResponse;
+import com.expensetracker.dto.ExpenseSummaryResponse;
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.Money;
+import com.expensetracker.reactive.security.ReactiveCurrentUser;
+import com.expensetracker.reactive.service.ReactiveExpenseService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The core {@code /expenses} contract of the servlet {@code ExpenseController}:
+ * create, paginated and filtered listing, monthly summary, update and delete.
+ * Keyset cursors, bulk import, export, search and batch endpoints are served
+ * by the servlet mode only.
+ */
+@RestController
+@RequestMapping("/expenses")
+public class ReactiveExpenseController {
+
+    private final ReactiveExpenseService expenseService;
+    private final ReactiveCurrentUser currentUser;
+    private final int maxPageSize;
+
+    public ReactiveExpenseController(ReactiveExpenseService expenseService,
+                                     ReactiveCurrentUser currentUser,
+                                     @Value("${expense.page.max-size:100}") int maxPageSize) {
+        this.expenseService = expenseService;
+        this.currentUser = currentUser;
+        this.maxPageSize = maxPageSize;
+    }
+
+    // ---------------- CREATE ----------------
+    @PostMapping
+    public Mono<ExpenseResponse> addExpense(
+            @Valid @RequestBody ExpenseRequest request,
+            Authentication authentication
+    ) {
+        Expense expense = toExpense(request);
+
+        return currentUser.resolveId(authentication)
+                .flatMap(userId -> expenseService.addExpense(userId, expense));
+    }
+
+    // ---------------- PAGINATED FETCH ----------------
+    @GetMapping
+    public Mono<Page<ExpenseResponse>> getMyExpenses(
+            Authentication authentication,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "5") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir
+    ) {
+        PageRequest pageable = PageRequest.of(page, pageSize(size), sort(sortBy, sortDir));
+
+        return currentUser.resolveId(authentication)
+                .flatMap(userId -> expenseService.getFilteredExpenseResponses(
+                        userId, null, null, null, pageable));
+    }
+
+    // ---------------- FILTER ----------------
+    @GetMapping("/filter")
+    public Mono<Page<ExpenseResponse>> getFilteredExpenses(
+            Authentication authentication,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "5") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir
+    ) {
+        PageRequest pageable = PageRequest.of(page, pageSize(size), sort(sortBy, sortDir));
+
+        return currentUser.resolveId(authentication)
+                .flatMap(userId -> expenseService.getFilteredExpenseResponses(
+                        userId, category, from, to, pageable));
+    }
+
+    // ---------------- SUMMARY ----------------
+    @GetMapping("/summary")
+    public Mono<List<ExpenseSummaryResponse>> getMonthlySummary(
+            Authentication authentication,
+            @RequestParam int month,
+            @RequestParam int year
+    ) {
+        return currentUser.resolveId(authentication)
+                .flatMap(userId -> expenseService.getMonthlySummary(userId, month, year));
+    }
+
+    // ---------------- DELETE ----------------
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteExpense(
+            @PathVariable Long id,
+            Authentication authentication
+    ) {
+        return currentUser.resolveId(authentication)
+                .flatMap(userId -> expenseService.deleteExpense(userId, id));
+    }
+
+    // ---------------- UPDATE ----------------
+    // 🔹 "Prefer: return=minimal" (RFC 7240) answers 204 and skips reading the row back
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<ExpenseResponse>> updateExpense(
+            @PathVariable Long id,
+            @Valid @RequestBody ExpenseRequest request,
+            @RequestHeader(value = "Prefer", required = false) String prefer,
+            Authentication authentication
+    ) {
+        Expense updated = toExpense(request);
+
+        if (prefer != null && prefer.contains("return=minimal")) {
+            return currentUser.resolveId(authentication)
+                    .flatMap(userId -> expenseService.updateExpense(userId, id, updated))
+                    .then(Mono.fromSupplier(() -> ResponseEntity.noContent()
+                            .header("Preference-Applied", "return=minimal")
+                            .<ExpenseResponse>build()));
+        }
+
+        return currentUser.resolveId(authentication)
+                .flatMap(userId -> expenseService.updateExpenseAndRead(userId, id, updated))
+                .map(ResponseEntity::ok);
+    }
+
+    private static Expense toExpense(ExpenseRequest request) {
+        Expense expense = new Expense();
+        expense.setTitle(request.title);
+        expense.setCurrency(Money.currencyOrDefault(request.currency));
+        expense.setAmountMinor(Money.toMinor(request.amount, expense.getCurrency()));
+        expense.setCategory(request.category);
+        expense.setDate(request.date);
+        expense.setPaymentMethod(request.paymentMethod);
+        expense.setNotes(request.notes);
+        return expense;
+    }
+
+    // 🔹 Same hard cap as ExpenseController
+    private int pageSize(int size) {
+        return Math.min(Math.max(size, 1), maxPageSize);
+    }
+
+    private static Sort sort(String sortBy, String sortDir) {
+        return Sort.by(
+                sortDir.equalsIgnoreCase("desc")
+                        ? Sort.Direction.DESC
+                        : Sort.Direction.ASC,
+                sortBy
+        );
+    }
+}
@@ -0,0 +1,61 @@
+package com.expensetracker.reactive.controller;
+
+import com.expensetracker.dto.LoginRequest;
+import com.expensetracker.reactive.repository.ReactiveUserRepository;
+import com.expensetracker.security.JwtUtil;
+import com.expensetracker.security.PasswordHasher;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/users")
+public class ReactiveUserController {
+
+    private final ReactiveUserRepository userRepository;
+    private final PasswordHasher passwordHasher;
+
+    public ReactiveUserController(ReactiveUserRepository userRepository,
+                                  PasswordHasher passwordHasher) {
+        this.userRepository = userRepository;
+        this.passwordHasher = passwordHasher;
+    }
+
+    // ---------------- REGISTER ----------------
+    // BCrypt runs on the PasswordHasher pool, never on the event loop
+    @PostMapping("/register")
+    public Mono<ResponseEntity<String>> register(@RequestBody LoginRequest request) {
+
+        return userRepository.existsByEmail(request.getEmail()).flatMap(exists -> {
+            if (exists) {
+                return Mono.just(ResponseEntity
+                        .status(HttpStatus.CONFLICT)
+                        .body("Email already registered"));
+            }
+
+            return Mono.defer(() -> Mono.fromFuture(passwordHasher.encode(request.getPassword())))
+                    .flatMap(hash -> userRepository.insert(request.getEmail(), hash))
+                    .thenReturn(ResponseEntity
+                            .status(HttpStatus.CREATED)
+                            .body("User registered successfully"));
+        });
+    }
+
+    // ---------------- LOGIN ----------------
+    @PostMapping("/login")
+    public Mono<ResponseEntity<String>> login(@RequestBody LoginRequest request) {
+
+        ResponseEntity<String> invalid = ResponseEntity
+                .status(HttpStatus.UNAUTHORIZED)
+                .body("Invalid email or password");
+
+        return userRepository.findByEmail(request.getEmail())
+                .flatMap(user -> Mono.defer(() -> Mono.fromFuture(
+                                passwordHasher.matches(request.getPassword(), user.getPassword())))
+                        .map(matches -> matches
+                                ? ResponseEntity.ok(JwtUtil.generateToken(user.getId(), user.getEmail()))
+                                : invalid))
+                .defaultIfEmpty(invalid);
+    }
+}
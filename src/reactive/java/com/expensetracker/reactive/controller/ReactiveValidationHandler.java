@@ -0,0 +1,32 @@
+package com.expensetracker.reactive.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 🔹 WebFlux reports @Valid failures as WebExchangeBindException; same body as GlobalExceptionHandler
+@RestControllerAdvice
+public class ReactiveValidationHandler {
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, List<String>>> handleValidationErrors(
+            WebExchangeBindException ex
+    ) {
+        List<String> errors = ex.getBindingResult()
+                .getFieldErrors()
+                .stream()
+                .map(error -> error.getDefaultMessage())
+                .toList();
+
+        Map<String, List<String>> response = new HashMap<>();
+        response.put("errors", errors);
+
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,219 @@
+package com.expensetracker.reactive.repository;
+
+import com.expensetracker.dto.ExpenseResponse;
+import com.expensetracker.model.Expense;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * R2DBC queries over the expense table, with the same shape as the servlet
+ * mode's {@code ExpenseRepository}: the owner is always in the WHERE clause,
+ * filters add only the predicates that are present, and reads project
+ * straight into {@link ExpenseResponse}.
+ */
+@Repository
+public class ReactiveExpenseRepository {
+
+    private static final String RESPONSE_COLUMNS = """
+            e.id, e.title, e.amount_minor, e.currency, e.category, e.date,
+            e.payment_method, e.notes, e.created_at
+            """;
+
+    private final DatabaseClient db;
+    private final String nextIdSql;
+
+    public ReactiveExpenseRepository(DatabaseClient db, ConnectionFactory connectionFactory) {
+        this.db = db;
+        this.nextIdSql = connectionFactory.getMetadata().getName().contains("PostgreSQL")
+                ? "SELECT nextval('expense_seq')"
+                : "SELECT NEXT VALUE FOR expense_seq";
+    }
+
+    // ---------- IDS ----------
+
+    // 🔹 One raw value of expense_seq, the sequence the servlet mode's pooled optimizer also uses
+    public Mono<Long> nextId() {
+        return db.sql(nextIdSql)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    // ---------- WRITES ----------
+
+    public Mono<Long> insert(Long userId, Expense expense) {
+        return bindNotes(db.sql("""
+                INSERT INTO expense (id, title, amount_minor, currency, category, date,
+                                     payment_method, notes, created_at, user_id)
+                VALUES (:id, :title, :amountMinor, :currency, :category, :date,
+                        :paymentMethod, :notes, :createdAt, :userId)
+                """), expense.getNotes())
+                .bind("id", expense.getId())
+                .bind("title", expense.getTitle())
+                .bind("amountMinor", expense.getAmountMinor())
+                .bind("currency", expense.getCurrency())
+                .bind("category", expense.getCategory())
+                .bind("date", expense.getDate())
+                .bind("paymentMethod", expense.getPaymentMethod())
+                .bind("createdAt", expense.getCreatedAt())
+                .bind("userId", userId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    // 🔹 Matches only when the rollup bucket is unchanged; 0 rows means take the full path
+    public Mono<Long> updateInPlace(Long id, Long userId, Expense updated) {
+        return bindNotes(db.sql("""
+                UPDATE expense e
+                SET title = :title,
+                    date = :date,
+                    payment_method = :paymentMethod,
+                    notes = :notes
+                WHERE e.id = :id
+                AND e.user_id = :userId
+                AND e.amount_minor = :amountMinor
+                AND e.currency = :currency
+                AND e.category = :category
+                AND EXTRACT(YEAR FROM e.date) = :year
+                AND EXTRACT(MONTH FROM e.date) = :month
+                """), updated.getNotes())
+                .bind("id", id)
+                .bind("userId", userId)
+                .bind("title", updated.getTitle())
+                .bind("date", updated.getDate())
+                .bind("paymentMethod", updated.getPaymentMethod())
+                .bind("amountMinor", updated.getAmountMinor())
+                .bind("currency", updated.getCurrency())
+                .bind("category", updated.getCategory())
+                .bind("year", updated.getDate().getYear())
+                .bind("month", updated.getDate().getMonthValue())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> updateOwned(Long id, Long userId, Expense updated) {
+        return bindNotes(db.sql("""
+                UPDATE expense e
+                SET title = :title,
+                    amount_minor = :amountMinor,
+                    currency = :currency,
+                    category = :category,
+                    date = :date,
+                    payment_method = :paymentMethod,
+                    notes = :notes
+                WHERE e.id = :id
+                AND e.user_id = :userId
+                """), updated.getNotes())
+                .bind("id", id)
+                .bind("userId", userId)
+                .bind("title", updated.getTitle())
+                .bind("amountMinor", updated.getAmountMinor())
+                .bind("currency", updated.getCurrency())
+                .bind("category", updated.getCategory())
+                .bind("date", updated.getDate())
+                .bind("paymentMethod", updated.getPaymentMethod())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> deleteOwned(Long id, Long userId) {
+        return db.sql("DELETE FROM expense WHERE id = :id AND user_id = :userId")
+                .bind("id", id)
+                .bind("userId", userId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    // ---------- READS ----------
+
+    public Mono<ExpenseResponse> findExpenseResponse(Long id, Long userId) {
+        return db.sql("SELECT " + RESPONSE_COLUMNS + " FROM expense e WHERE e.id = :id AND e.user_id = :userId")
+                .bind("id", id)
+                .bind("userId", userId)
+                .map(ReactiveExpenseRepository::toResponse)
+                .one();
+    }
+
+    /**
+     * One page of the caller's expenses. {@code orderBy} must be a trusted
+     * column expression, see {@code ReactiveExpenseService}.
+     */
+    public Flux<ExpenseResponse> findExpenseResponses(
+            Long userId, String category, LocalDate from, LocalDate to,
+            String orderBy, long offset, int limit
+    ) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        String where = filtered(userId, category, from, to, params);
+
+        DatabaseClient.GenericExecuteSpec spec = db.sql(
+                "SELECT " + RESPONSE_COLUMNS + " FROM expense e " + where
+                        + " ORDER BY " + orderBy + " LIMIT :limit OFFSET :offset");
+        for (Map.Entry<String, Object> param : params.entrySet()) {
+            spec = spec.bind(param.getKey(), param.getValue());
+        }
+
+        return spec.bind("limit", limit)
+                .bind("offset", offset)
+                .map(ReactiveExpenseRepository::toResponse)
+                .all();
+    }
+
+    public Mono<Long> countExpenses(Long userId, String category, LocalDate from, LocalDate to) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        String where = filtered(userId, category, from, to, params);
+
+        DatabaseClient.GenericExecuteSpec spec = db.sql("SELECT COUNT(*) FROM expense e " + where);
+        for (Map.Entry<String, Object> param : params.entrySet()) {
+            spec = spec.bind(param.getKey(), param.getValue());
+        }
+
+        return spec.map(row -> row.get(0, Long.class)).one();
+    }
+
+    // 🔹 Only the predicates that are present, as in ExpenseSpecifications.filtered
+    private static String filtered(Long userId, String category, LocalDate from, LocalDate to,
+                                   Map<String, Object> params) {
+        StringBuilder where = new StringBuilder("WHERE e.user_id = :userId");
+        params.put("userId", userId);
+
+        if (category != null) {
+            where.append(" AND e.category = :category");
+            params.put("category", category);
+        }
+        if (from != null) {
+            where.append(" AND e.date >= :from");
+            params.put("from", from);
+        }
+        if (to != null) {
+            where.append(" AND e.date <= :to");
+            params.put("to", to);
+        }
+        return where.toString();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNotes(DatabaseClient.GenericExecuteSpec spec, String notes) {
+        return notes == null ? spec.bindNull("notes", String.class) : spec.bind("notes", notes);
+    }
+
+    private static ExpenseResponse toResponse(Readable row) {
+        return new ExpenseResponse(
+                row.get("id", Long.class),
+                row.get("title", String.class),
+                row.get("amount_minor", Long.class),
+                row.get("currency", String.class),
+                row.get("category", String.class),
+                row.get("date", LocalDate.class),
+                row.get("payment_method", String.class),
+                row.get("notes", String.class),
+                row.get("created_at", LocalDateTime.class)
+        );
+    }
+}
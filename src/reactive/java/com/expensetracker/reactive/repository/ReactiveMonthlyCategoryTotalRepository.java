@@ -0,0 +1,129 @@
+package com.expensetracker.reactive.repository;
+
+import com.expensetracker.dto.ExpenseSummaryResponse;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// 🔹 Same statements as MonthlyCategoryTotalRepository, in SQL over monthly_category_total
+@Repository
+public class ReactiveMonthlyCategoryTotalRepository {
+
+    // 🔹 As in MonthlyCategoryTotalRepositoryCustomImpl: ON CONFLICT DO UPDATE on PostgreSQL
+    private static final String POSTGRES_UPSERT = """
+            INSERT INTO monthly_category_total
+                (user_id, period_year, period_month, category, currency, total_minor, expense_count)
+            VALUES (:userId, :year, :month, :category, :currency, :amountMinor, :count)
+            ON CONFLICT ON CONSTRAINT uk_monthly_category_total DO UPDATE
+            SET total_minor = monthly_category_total.total_minor + EXCLUDED.total_minor,
+                expense_count = monthly_category_total.expense_count + EXCLUDED.expense_count
+            """;
+
+    private static final String UPDATE = """
+            UPDATE monthly_category_total
+            SET total_minor = total_minor + :amountMinor,
+                expense_count = expense_count + :count
+            WHERE user_id = :userId
+            AND period_year = :year
+            AND period_month = :month
+            AND category = :category
+            AND currency = :currency
+            """;
+
+    private static final String INSERT_IF_ABSENT = """
+            INSERT INTO monthly_category_total
+                (user_id, period_year, period_month, category, currency, total_minor, expense_count)
+            VALUES (:userId, :year, :month, :category, :currency, :amountMinor, :count)
+            ON CONFLICT DO NOTHING
+            """;
+
+    private final DatabaseClient db;
+    private final boolean postgres;
+
+    public ReactiveMonthlyCategoryTotalRepository(DatabaseClient db, ConnectionFactory connectionFactory) {
+        this.db = db;
+        this.postgres = connectionFactory.getMetadata().getName().contains("PostgreSQL");
+    }
+
+    /**
+     * Adds to the bucket, creating it when missing. Concurrent first writes
+     * queue on the unique key instead of one of them failing; H2 (tests) has
+     * no ON CONFLICT DO UPDATE, so there it is update, else insert-if-absent,
+     * else update again.
+     */
+    public Mono<Void> upsertTotal(Long userId, int year, int month, String category, String currency,
+                                  long amountMinor, long count) {
+        if (postgres) {
+            return execute(POSTGRES_UPSERT, userId, year, month, category, currency, amountMinor, count).then();
+        }
+
+        return execute(UPDATE, userId, year, month, category, currency, amountMinor, count)
+                .flatMap(updated -> updated > 0
+                        ? Mono.just(updated)
+                        : execute(INSERT_IF_ABSENT, userId, year, month, category, currency, amountMinor, count))
+                .flatMap(written -> written > 0
+                        ? Mono.just(written)
+                        : execute(UPDATE, userId, year, month, category, currency, amountMinor, count))
+                .then();
+    }
+
+    private Mono<Long> execute(String sql, Long userId, int year, int month, String category, String currency,
+                               long amountMinor, long count) {
+        return db.sql(sql)
+                .bind("userId", userId)
+                .bind("year", year)
+                .bind("month", month)
+                .bind("category", category)
+                .bind("currency", currency)
+                .bind("amountMinor", amountMinor)
+                .bind("count", count)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    // 🔹 Takes an expense out of its bucket without loading it; 0 rows when it is not the caller's
+    public Mono<Long> subtractExpense(Long userId, Long expenseId) {
+        return db.sql("""
+                UPDATE monthly_category_total
+                SET total_minor = total_minor - (SELECT e.amount_minor FROM expense e WHERE e.id = :expenseId),
+                    expense_count = expense_count - 1
+                WHERE EXISTS (
+                    SELECT 1
+                    FROM expense e
+                    WHERE e.id = :expenseId
+                    AND e.user_id = :userId
+                    AND monthly_category_total.user_id = e.user_id
+                    AND monthly_category_total.period_year = EXTRACT(YEAR FROM e.date)
+                    AND monthly_category_total.period_month = EXTRACT(MONTH FROM e.date)
+                    AND monthly_category_total.category = e.category
+                    AND monthly_category_total.currency = e.currency
+                )
+                """)
+                .bind("userId", userId)
+                .bind("expenseId", expenseId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Flux<ExpenseSummaryResponse> getMonthlySummary(Long userId, int month, int year) {
+        return db.sql("""
+                SELECT category, currency, total_minor
+                FROM monthly_category_total
+                WHERE user_id = :userId
+                AND period_year = :year
+                AND period_month = :month
+                AND expense_count > 0
+                """)
+                .bind("userId", userId)
+                .bind("year", year)
+                .bind("month", month)
+                .map(row -> new ExpenseSummaryResponse(
+                        row.get("category", String.class),
+                        row.get("currency", String.class),
+                        row.get("total_minor", Long.class)
+                ))
+                .all();
+    }
+}
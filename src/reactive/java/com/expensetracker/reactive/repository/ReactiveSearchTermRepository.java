@@ -0,0 +1,47 @@
+package com.expensetracker.reactive.repository;
+
+import com.expensetracker.model.ExpenseSearchTerm;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Keeps {@code expense_search_term} in step with reactive writes, so an
+ * index built by either mode stays complete. Searching itself is served by
+ * the servlet mode only.
+ */
+@Repository
+public class ReactiveSearchTermRepository {
+
+    private final DatabaseClient db;
+
+    public ReactiveSearchTermRepository(DatabaseClient db) {
+        this.db = db;
+    }
+
+    public Mono<Long> insertAll(List<ExpenseSearchTerm> terms) {
+        return Flux.fromIterable(terms)
+                .concatMap(term -> db.sql("""
+                        INSERT INTO expense_search_term (expense_id, token, user_id, weight)
+                        VALUES (:expenseId, :token, :userId, :weight)
+                        """)
+                        .bind("expenseId", term.getExpenseId())
+                        .bind("token", term.getToken())
+                        .bind("userId", term.getUserId())
+                        .bind("weight", term.getWeight())
+                        .fetch()
+                        .rowsUpdated())
+                .reduce(0L, Long::sum);
+    }
+
+    public Mono<Long> deleteByExpenseId(Long userId, Long expenseId) {
+        return db.sql("DELETE FROM expense_search_term WHERE user_id = :userId AND expense_id = :expenseId")
+                .bind("userId", userId)
+                .bind("expenseId", expenseId)
+                .fetch()
+                .rowsUpdated();
+    }
+}
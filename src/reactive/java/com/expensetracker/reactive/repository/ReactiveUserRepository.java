@@ -0,0 +1,55 @@
+package com.expensetracker.reactive.repository;
+
+import com.expensetracker.model.User;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+// 🔹 R2DBC access to the users table written by the servlet mode's User entity
+@Repository
+public class ReactiveUserRepository {
+
+    private final DatabaseClient db;
+
+    public ReactiveUserRepository(DatabaseClient db) {
+        this.db = db;
+    }
+
+    public Mono<Boolean> existsByEmail(String email) {
+        return db.sql("SELECT 1 FROM users WHERE email = :email")
+                .bind("email", email)
+                .map(row -> 1)
+                .first()
+                .hasElement();
+    }
+
+    public Mono<User> findByEmail(String email) {
+        return db.sql("SELECT id, email, password FROM users WHERE email = :email")
+                .bind("email", email)
+                .map(row -> {
+                    User user = new User();
+                    user.setId(row.get("id", Long.class));
+                    user.setEmail(row.get("email", String.class));
+                    user.setPassword(row.get("password", String.class));
+                    return user;
+                })
+                .one();
+    }
+
+    public Mono<Long> findIdByEmail(String email) {
+        return db.sql("SELECT id FROM users WHERE email = :email")
+                .bind("email", email)
+                .map(row -> row.get("id", Long.class))
+                .one();
+    }
+
+    // 🔹 IDENTITY column; the generated id comes back with the insert
+    public Mono<Long> insert(String email, String passwordHash) {
+        return db.sql("INSERT INTO users (email, password) VALUES (:email, :password)")
+                .bind("email", email)
+                .bind("password", passwordHash)
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one();
+    }
+}
@@ -0,0 +1,31 @@
+package com.expensetracker.reactive.security;
+
+import com.expensetracker.reactive.repository.ReactiveUserRepository;
+import com.expensetracker.security.UserPrincipal;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Turns the authenticated principal into a user id. Tokens carrying the id
+ * need no query; older tokens only carry the email and are looked up.
+ */
+@Component
+public class ReactiveCurrentUser {
+
+    private final ReactiveUserRepository userRepo;
+
+    public ReactiveCurrentUser(ReactiveUserRepository userRepo) {
+        this.userRepo = userRepo;
+    }
+
+    public Mono<Long> resolveId(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof UserPrincipal userPrincipal
+                && userPrincipal.getId() != null) {
+            return Mono.just(userPrincipal.getId());
+        }
+
+        return userRepo.findIdByEmail(authentication.getName())
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("User not found")));
+    }
+}
@@ -0,0 +1,94 @@
+package com.expensetracker.reactive.security;
+
+import com.expensetracker.security.JwtUtil;
+import com.expensetracker.security.UserPrincipal;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebFlux counterpart of {@link com.expensetracker.security.JwtFilter}: a valid
+ * Bearer token authenticates the exchange, anything else continues
+ * unauthenticated and is rejected by the authorization rules. Publishes the
+ * same {@code security.jwt.validation} timers.
+ * <p>
+ * Not a bean: WebFlux would otherwise also run it outside the security chain.
+ */
+public class ReactiveJwtFilter implements WebFilter {
+
+    private final Timer validTokens;
+    private final Timer invalidTokens;
+
+    public ReactiveJwtFilter(MeterRegistry meterRegistry) {
+        this.validTokens = validationTimer(meterRegistry, "valid");
+        this.invalidTokens = validationTimer(meterRegistry, "invalid");
+    }
+
+    private static Timer validationTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("security.jwt.validation")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        if (shouldNotFilter(request) || authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return chain.filter(exchange);
+        }
+
+        UserPrincipal principal;
+        try {
+            principal = validate(authHeader.substring(7));
+        } catch (RuntimeException ex) {
+            // 🔑 DO NOT BLOCK REQUEST
+            return chain.filter(exchange);
+        }
+
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(principal, null, Collections.emptyList());
+
+        return chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+    }
+
+    private static boolean shouldNotFilter(ServerHttpRequest request) {
+        if (HttpMethod.OPTIONS.equals(request.getMethod())) {
+            return true;
+        }
+
+        String path = request.getPath().pathWithinApplication().value();
+
+        return path.equals("/users/login")
+                || path.equals("/users/register")
+                || path.startsWith("/actuator");
+    }
+
+    // 🔹 Signature checks are CPU-only and cached by JwtUtil, so they stay on the event loop
+    private UserPrincipal validate(String token) {
+        long start = System.nanoTime();
+
+        try {
+            UserPrincipal principal = JwtUtil.validateToken(token);
+            validTokens.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return principal;
+        } catch (RuntimeException ex) {
+            invalidTokens.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+    }
+}
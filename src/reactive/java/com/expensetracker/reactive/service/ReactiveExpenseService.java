@@ -0,0 +1,188 @@
+package com.expensetracker.reactive.service;
+
+import com.expensetracker.dto.ExpenseResponse;
+import com.expensetracker.dto.ExpenseSummaryResponse;
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.ExpenseSearchTerm;
+import com.expensetracker.reactive.repository.ReactiveExpenseRepository;
+import com.expensetracker.reactive.repository.ReactiveMonthlyCategoryTotalRepository;
+import com.expensetracker.reactive.repository.ReactiveSearchTermRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Reactive counterpart of {@code ExpenseService} for the core write and read
+ * paths. Writes keep {@code monthly_category_total} and
+ * {@code expense_search_term} in step inside the same R2DBC transaction.
+ * <p>
+ * They do not bump {@code ExpenseDataVersion}, evict the servlet read
+ * caches or raise budget alerts, so this mode must never write to a
+ * database that servlet instances are serving: those would keep answering
+ * 304 and cached pages after a reactive write, and budget crossings would
+ * be missed.
+ */
+@Service
+public class ReactiveExpenseService {
+
+    // 🔹 Request sort properties to columns; anything else would be SQL from the query string
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "e.id",
+            "title", "e.title",
+            "amount", "e.amount_minor",
+            "amountMinor", "e.amount_minor",
+            "currency", "e.currency",
+            "category", "e.category",
+            "date", "e.date",
+            "paymentMethod", "e.payment_method",
+            "createdAt", "e.created_at"
+    );
+
+    private final ReactiveExpenseRepository expenseRepo;
+    private final ReactiveMonthlyCategoryTotalRepository totalRepo;
+    private final ReactiveSearchTermRepository termRepo;
+
+    public ReactiveExpenseService(ReactiveExpenseRepository expenseRepo,
+                                  ReactiveMonthlyCategoryTotalRepository totalRepo,
+                                  ReactiveSearchTermRepository termRepo) {
+        this.expenseRepo = expenseRepo;
+        this.totalRepo = totalRepo;
+        this.termRepo = termRepo;
+    }
+
+    // ---------- CREATE ----------
+    @Transactional
+    public Mono<ExpenseResponse> addExpense(Long userId, Expense expense) {
+        // Stored with microsecond precision; keep the response equal to a later read
+        expense.setCreatedAt(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+
+        return expenseRepo.nextId()
+                .flatMap(id -> {
+                    expense.setId(id);
+                    return expenseRepo.insert(userId, expense);
+                })
+                .then(Mono.defer(() -> applyToRollup(userId, expense.getDate(), expense.getCategory(),
+                        expense.getCurrency(), expense.getAmountMinor(), 1)))
+                .then(Mono.defer(() -> termRepo.insertAll(ExpenseSearchTerm.of(
+                        userId, expense.getId(), expense.getTitle(), expense.getNotes()))))
+                .then(Mono.fromSupplier(() -> ExpenseResponse.from(expense)));
+    }
+
+    // ---------- READ ----------
+    @Transactional(readOnly = true)
+    public Mono<Page<ExpenseResponse>> getFilteredExpenseResponses(
+            Long userId,
+            String category,
+            LocalDate from,
+            LocalDate to,
+            Pageable pageable
+    ) {
+        String orderBy = orderBy(pageable.getSort());
+
+        return expenseRepo.findExpenseResponses(
+                        userId, category, from, to, orderBy, pageable.getOffset(), pageable.getPageSize())
+                .collectList()
+                .flatMap(rows -> {
+                    // Same shortcut as Spring Data: a short first page is its own total
+                    if (pageable.getOffset() == 0 && rows.size() < pageable.getPageSize()) {
+                        return Mono.just(new PageImpl<>(rows, pageable, rows.size()));
+                    }
+                    return expenseRepo.countExpenses(userId, category, from, to)
+                            .map(total -> new PageImpl<>(rows, pageable, total));
+                });
+    }
+
+    @Transactional(readOnly = true)
+    public Mono<List<ExpenseSummaryResponse>> getMonthlySummary(Long userId, int month, int year) {
+        return totalRepo.getMonthlySummary(userId, month, year).collectList();
+    }
+
+    // ---------- UPDATE ----------
+
+    /**
+     * Same two paths as {@code ExpenseService.updateExpense}: a single guarded
+     * UPDATE when the rollup bucket is unchanged, otherwise take the old values
+     * out by id, rewrite the row and add the new values back. Ownership is the
+     * row count of the expense write.
+     */
+    @Transactional
+    public Mono<Void> updateExpense(Long userId, Long id, Expense updated) {
+        return expenseRepo.updateInPlace(id, userId, updated)
+                .flatMap(inPlace -> inPlace > 0
+                        ? Mono.<Void>empty()
+                        : totalRepo.subtractExpense(userId, id)
+                                .then(expenseRepo.updateOwned(id, userId, updated))
+                                .flatMap(owned -> owned == 0
+                                        ? Mono.<Void>error(new AccessDeniedException("Not allowed"))
+                                        : applyToRollup(userId, updated.getDate(), updated.getCategory(),
+                                                updated.getCurrency(), updated.getAmountMinor(), 1)))
+                .then(Mono.defer(() -> termRepo.deleteByExpenseId(userId, id)))
+                .then(Mono.defer(() -> termRepo.insertAll(ExpenseSearchTerm.of(
+                        userId, id, updated.getTitle(), updated.getNotes()))))
+                .then();
+    }
+
+    // 🔹 Same write, then reads the stored row back for clients that want a representation
+    @Transactional
+    public Mono<ExpenseResponse> updateExpenseAndRead(Long userId, Long id, Expense updated) {
+        return updateExpense(userId, id, updated)
+                .then(Mono.defer(() -> expenseRepo.findExpenseResponse(id, userId)));
+    }
+
+    // ---------- DELETE ----------
+    @Transactional
+    public Mono<Void> deleteExpense(Long userId, Long id) {
+        return totalRepo.subtractExpense(userId, id)
+                .then(expenseRepo.deleteOwned(id, userId))
+                .flatMap(owned -> owned == 0
+                        ? Mono.<Long>error(new AccessDeniedException("Not allowed"))
+                        : Mono.just(owned))
+                .then(Mono.defer(() -> termRepo.deleteByExpenseId(userId, id)))
+                .then();
+    }
+
+    // ---------- ROLLUP ----------
+    private Mono<Void> applyToRollup(Long userId, LocalDate date, String category, String currency,
+                                     long amountMinor, long count) {
+        int year = date.getYear();
+        int month = date.getMonthValue();
+
+        return totalRepo.upsertTotal(userId, year, month, category, currency, amountMinor, count);
+    }
+
+    private static String orderBy(Sort sort) {
+        StringJoiner orderBy = new StringJoiner(", ");
+        Sort.Direction tieBreak = Sort.Direction.ASC;
+        boolean byId = false;
+
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cannot sort by " + order.getProperty());
+            }
+            orderBy.add(column + " " + order.getDirection().name());
+            tieBreak = order.getDirection();
+            byId |= column.equals("e.id");
+        }
+
+        // 🔹 Rows with equal sort keys keep their order from page to page
+        if (!byId) {
+            orderBy.add("e.id " + tieBreak.name());
+        }
+        return orderBy.toString();
+    }
+}
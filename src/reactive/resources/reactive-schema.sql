@@ -0,0 +1,50 @@
+-- Tables the reactive mode reads and writes, matching the servlet mode's JPA mappings.
+-- Every statement is idempotent; an existing schema is left untouched.
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255),
+    email VARCHAR(255) UNIQUE,
+    password VARCHAR(255)
+);
+
+CREATE SEQUENCE IF NOT EXISTS expense_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS expense (
+    id BIGINT PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    amount_minor BIGINT NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    category VARCHAR(255) NOT NULL,
+    date DATE NOT NULL,
+    payment_method VARCHAR(255) NOT NULL,
+    notes VARCHAR(255),
+    created_at TIMESTAMP(6) NOT NULL,
+    user_id BIGINT NOT NULL REFERENCES users (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_expense_user_date ON expense (user_id, date);
+CREATE INDEX IF NOT EXISTS idx_expense_user_category_date ON expense (user_id, category, date);
+CREATE INDEX IF NOT EXISTS idx_expense_user_created_at ON expense (user_id, created_at);
+
+CREATE TABLE IF NOT EXISTS monthly_category_total (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    period_year INTEGER NOT NULL,
+    period_month INTEGER NOT NULL,
+    category VARCHAR(255) NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    total_minor BIGINT NOT NULL,
+    expense_count BIGINT NOT NULL,
+    CONSTRAINT uk_monthly_category_total UNIQUE (user_id, period_year, period_month, category, currency)
+);
+
+CREATE TABLE IF NOT EXISTS expense_search_term (
+    expense_id BIGINT NOT NULL,
+    token VARCHAR(64) NOT NULL,
+    user_id BIGINT NOT NULL,
+    weight INTEGER NOT NULL,
+    PRIMARY KEY (expense_id, token)
+);
+
+CREATE INDEX IF NOT EXISTS idx_search_term_user_token ON expense_search_term (user_id, token);
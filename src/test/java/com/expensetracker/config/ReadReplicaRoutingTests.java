@@ -0,0 +1,74 @@
+package com.expensetracker.config;
+
+import com.expensetracker.security.UserPrincipal;
+import com.expensetracker.service.ExpenseDataVersion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two embedded replicas: one is the test database seen through connections
+ * tagged {@code @ROLE = 'replica'}, the other does not exist and must be
+ * marked down without failing any read.
+ */
+@SpringBootTest(properties = {
+        "expense.db.replicas.urls="
+                + "jdbc:h2:mem:expense_tracker;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1,"
+                + "jdbc:h2:mem:missing_replica;IFEXISTS=TRUE",
+        "expense.db.replicas.hikari.connection-init-sql=SET @ROLE 'replica'",
+        "expense.db.replicas.hikari.connection-timeout=250"
+})
+class ReadReplicaRoutingTests {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private ReplicaRoutingDataSource routing;
+
+    @Autowired
+    private ExpenseDataVersion dataVersion;
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readsFromHealthyReplicaUntilTheUserWrites() {
+        for (int i = 0; i < 3; i++) {
+            role(true);
+        }
+        assertThat(routing.healthyReplicas()).isEqualTo(1);
+
+        assertThat(role(true)).isEqualTo("replica");
+        assertThat(role(false)).isNull();
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new UserPrincipal(-42L, "replica@test.dev"), null, List.of()));
+        assertThat(role(true)).isEqualTo("replica");
+
+        dataVersion.bump(-42L);
+        assertThat(role(true)).isNull();
+    }
+
+    // null means the primary: only replica connections set the variable
+    private String role(boolean readOnly) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(readOnly);
+        return tx.execute(status -> jdbc.queryForObject("SELECT @ROLE", String.class));
+    }
+}
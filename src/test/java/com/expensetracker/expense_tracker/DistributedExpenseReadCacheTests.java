@@ -0,0 +1,33 @@
+package com.expensetracker.expense_tracker;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Same checks against the distributed cache, backed by a single embedded
+ * Hazelcast member that stands in for the cluster.
+ */
+@ActiveProfiles("distributed-cache")
+@Import(DistributedExpenseReadCacheTests.EmbeddedHazelcast.class)
+class DistributedExpenseReadCacheTests extends ExpenseReadCacheTests {
+
+    @TestConfiguration
+    static class EmbeddedHazelcast {
+
+        @Bean
+        Config hazelcastConfig() {
+            Config config = new Config();
+            config.setClusterName("expense-tracker-test");
+            config.setProperty("hazelcast.phone.home.enabled", "false");
+
+            JoinConfig join = config.getNetworkConfig().getJoin();
+            join.getAutoDetectionConfig().setEnabled(false);
+            join.getMulticastConfig().setEnabled(false);
+            return config;
+        }
+    }
+}
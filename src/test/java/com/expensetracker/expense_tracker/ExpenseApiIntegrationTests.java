@@ -0,0 +1,750 @@
+package com.expensetracker.expense_tracker;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class ExpenseApiIntegrationTests {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PrometheusMeterRegistry prometheus;
+
+    private String token;
+
+    @BeforeEach
+    void registerAndLogin() throws Exception {
+        token = newUserToken();
+    }
+
+    private String newUserToken() throws Exception {
+        String credentials = """
+                {"email": "%s@example.com", "password": "secret"}
+                """.formatted(UUID.randomUUID());
+
+        MvcResult registered = mvc.perform(post("/users/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(credentials))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(registered))
+                .andExpect(status().isCreated());
+
+        MvcResult loggedIn = mvc.perform(post("/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(credentials))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mvc.perform(asyncDispatch(loggedIn))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+
+    @Test
+    void createListUpdateSummarizeAndDelete() throws Exception {
+        long first = create("Groceries", 40.5, "Food", "2024-03-02");
+        create("Rent", 900, "Housing", "2024-03-01");
+        create("Dinner", 19.5, "Food", "2024-03-15");
+        create("Lunch", 12, "Food", "2024-04-01");
+
+        mvc.perform(get("/expenses")
+                        .param("size", "10000")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(4))
+                .andExpect(jsonPath("$.size").value(100));
+
+        mvc.perform(get("/expenses/filter")
+                        .param("category", "Food")
+                        .param("from", "2024-03-01")
+                        .param("to", "2024-03-31")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2));
+
+        mvc.perform(put("/expenses/" + first)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body("Groceries", 60, "Food", "2024-03-02")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.amount").value(60.0))
+                .andExpect(jsonPath("$.currency").value("USD"));
+
+        JsonNode summary = summary(3, 2024);
+        assertThat(summary).hasSize(2);
+        assertThat(total(summary, "Food")).isEqualTo(79.5);
+        assertThat(total(summary, "Housing")).isEqualTo(900.0);
+
+        mvc.perform(delete("/expenses/" + first)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        assertThat(total(summary(3, 2024), "Food")).isEqualTo(19.5);
+    }
+
+    @Test
+    void concurrentFirstWritesToOneMonthAllCount() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Long>> writes = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                writes.add(pool.submit(() -> create("Snack", 2.5, "Food", "2023-11-05")));
+            }
+            for (Future<Long> write : writes) {
+                write.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(total(summary(11, 2023), "Food")).isEqualTo(20.0);
+    }
+
+    @Test
+    void changesOnlyOwnExpensesAndKeepsTotalsInStep() throws Exception {
+        long id = create("Gym", 30, "Health", "2024-09-01");
+        String other = newUserToken();
+
+        mvc.perform(put("/expenses/" + id)
+                        .header("Authorization", "Bearer " + other)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body("Mine now", 1, "Health", "2024-09-01")))
+                .andExpect(status().isForbidden());
+        mvc.perform(delete("/expenses/" + id)
+                        .header("Authorization", "Bearer " + other))
+                .andExpect(status().isForbidden());
+
+        // Same amount, category and month: updated in place
+        mvc.perform(put("/expenses/" + id)
+                        .header("Authorization", "Bearer " + token)
+                        .header("Prefer", "return=minimal")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body("Gym pass", 30, "Health", "2024-09-20")))
+                .andExpect(status().isNoContent());
+        assertThat(total(summary(9, 2024), "Health")).isEqualTo(30.0);
+
+        // Moves to another month
+        mvc.perform(put("/expenses/" + id)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body("Gym pass", 45, "Health", "2024-10-02")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Gym pass"))
+                .andExpect(jsonPath("$.createdAt").exists());
+        assertThat(total(summary(9, 2024), "Health")).isEqualTo(0.0);
+        assertThat(total(summary(10, 2024), "Health")).isEqualTo(45.0);
+
+        mvc.perform(delete("/expenses/" + id)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+        assertThat(total(summary(10, 2024), "Health")).isEqualTo(0.0);
+    }
+
+    @Test
+    void deletesAndRecategorizesInBatches() throws Exception {
+        long coffee = create("Coffee", 4, "Food", "2024-11-03");
+        long lunch = create("Lunch", 12, "Food", "2024-11-04");
+        long taxi = create("Taxi", 20, "Travel", "2024-11-05");
+
+        mvc.perform(patch("/expenses/batch")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[" + coffee + "," + lunch + ",999999],\"category\":\"Dining\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(3))
+                .andExpect(jsonPath("$.affected").value(2))
+                .andExpect(jsonPath("$.results[2].status").value("NOT_FOUND"));
+
+        JsonNode november = summary(11, 2024);
+        assertThat(total(november, "Food")).isEqualTo(0.0);
+        assertThat(total(november, "Dining")).isEqualTo(16.0);
+
+        mvc.perform(post("/expenses/batch-delete")
+                        .header("Authorization", "Bearer " + newUserToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[" + taxi + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].status").value("NOT_FOUND"));
+
+        mvc.perform(post("/expenses/batch-delete")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[" + coffee + "," + taxi + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(2))
+                .andExpect(jsonPath("$.results[0].status").value("DELETED"));
+
+        november = summary(11, 2024);
+        assertThat(total(november, "Dining")).isEqualTo(12.0);
+        assertThat(total(november, "Travel")).isEqualTo(0.0);
+
+        mvc.perform(patch("/expenses/batch")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[" + lunch + "]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchesTitlesAndNotesByPrefix() throws Exception {
+        long groceries = create("Weekly groceries", 50, "Food", "2024-12-02");
+        create("Grocery run", 20, "Food", "2024-12-10");
+        long train = create("Train to Zürich", 80, "Travel", "2024-12-15");
+
+        assertThat(search("groc")).containsExactly("Grocery run", "Weekly groceries");
+        assertThat(search("GROC week")).containsExactly("Weekly groceries");
+        assertThat(search("groc", "to", "2024-12-05")).containsExactly("Weekly groceries");
+        assertThat(search("zurich")).containsExactly("Train to Zürich");
+
+        mvc.perform(get("/expenses/search")
+                        .param("q", "groc")
+                        .param("size", "1")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2));
+
+        mvc.perform(patch("/expenses/batch")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[" + groceries + "],\"notes\":\"Before the Zurich trip\"}"))
+                .andExpect(status().isOk());
+        // Title matches outrank notes matches
+        assertThat(search("zurich")).containsExactly("Train to Zürich", "Weekly groceries");
+
+        mvc.perform(delete("/expenses/" + train)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+        assertThat(search("zurich")).containsExactly("Weekly groceries");
+
+        mvc.perform(get("/expenses/search")
+                        .param("q", "--")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void alertsOnceWhenSpendingCrossesBudgetThresholds() throws Exception {
+        String today = LocalDate.now().toString();
+        double warnings = alerts("80");
+        double exceeded = alerts("100");
+
+        String budget = mvc.perform(put("/budgets")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"category\": \"Fun\", \"amount\": 100}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UNDER"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        long budgetId = mapper.readTree(budget).get("id").asLong();
+
+        create("Cinema", 70, "Fun", today);
+        long bowling = create("Bowling", 15, "Fun", today);
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(alerts("80")).isEqualTo(warnings + 1));
+
+        // Same bucket, 85 -> 86: only the net 1 counts, which crosses nothing
+        mvc.perform(put("/expenses/" + bowling)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body("Bowling", 16, "Fun", today)))
+                .andExpect(status().isOk());
+
+        create("Concert", 20, "Fun", today);
+        create("Snacks", 4, "Fun", today);
+
+        await().during(Duration.ofMillis(500)).atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertThat(alerts("80")).isEqualTo(warnings + 1);
+            assertThat(alerts("100")).isEqualTo(exceeded + 1);
+        });
+
+        mvc.perform(get("/budgets/status")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].category").value("Fun"))
+                .andExpect(jsonPath("$[0].spent").value(110.0))
+                .andExpect(jsonPath("$[0].percentUsed").value(110))
+                .andExpect(jsonPath("$[0].status").value("EXCEEDED"));
+
+        mvc.perform(delete("/budgets/" + budgetId)
+                        .header("Authorization", "Bearer " + newUserToken()))
+                .andExpect(status().isForbidden());
+        mvc.perform(delete("/budgets/" + budgetId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void pagesThroughExpensesWithCursor() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            create("Coffee " + i, 3, "Food", "2024-05-0" + (i + 1));
+        }
+
+        JsonNode first = slice("", 2);
+        assertThat(first.get("content")).hasSize(2);
+        assertThat(first.get("content").get(0).get("title").asText()).isEqualTo("Coffee 4");
+        assertThat(first.get("hasNext").asBoolean()).isTrue();
+
+        JsonNode second = slice(first.get("nextCursor").asText(), 2);
+        assertThat(second.get("content").get(0).get("title").asText()).isEqualTo("Coffee 2");
+
+        JsonNode last = slice(second.get("nextCursor").asText(), 2);
+        assertThat(last.get("content")).hasSize(1);
+        assertThat(last.get("content").get(0).get("title").asText()).isEqualTo("Coffee 0");
+        assertThat(last.get("nextCursor").isNull()).isTrue();
+
+        mvc.perform(get("/expenses")
+                        .param("cursor", "not-a-cursor")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void importsJsonNdjsonAndCsvWithPerRowErrors() throws Exception {
+        mvc.perform(post("/expenses/bulk")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + body("Bus", 2.5, "Transport", "2024-06-01") + ","
+                                + body("", 3, "Transport", "2024-06-02") + ","
+                                + body("Train", 10, "Transport", "2024-06-03") + ","
+                                + body("Taxi", 20, "Transport", "2024-06-04") + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(4))
+                .andExpect(jsonPath("$.inserted").value(3))
+                .andExpect(jsonPath("$.errors[0].row").value(2));
+
+        mvc.perform(post("/expenses/bulk")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType("application/x-ndjson")
+                        .content(body("Ferry", 7.5, "Transport", "2024-06-05").replace("\n", "")
+                                + "\n{not json\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(2));
+
+        mvc.perform(post("/expenses/bulk")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType("text/csv")
+                        .content("""
+                                title,amount,category,date,paymentMethod,notes
+                                "Metro, monthly",40,Transport,2024-06-06,Card,
+                                Scooter,abc,Transport,2024-06-07,Card,
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(1))
+                .andExpect(jsonPath("$.errors[0].errors[0]").value("Invalid amount"));
+
+        assertThat(total(summary(6, 2024), "Transport")).isEqualTo(80.0);
+    }
+
+    @Test
+    void stopsImportAtRejectedChunkAndKeepsEarlierChunks() throws Exception {
+        // Valid request, but notes longer than the column: chunk 2 (rows 3-4) fails at flush
+        String tooLong = body("Hotel", 120, "Travel", "2024-09-03")
+                .replace("\"test\"", "\"" + "x".repeat(300) + "\"");
+
+        mvc.perform(post("/expenses/bulk")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + body("Flight", 300, "Travel", "2024-09-01") + ","
+                                + body("Taxi", 40, "Travel", "2024-09-02") + ","
+                                + tooLong + ","
+                                + body("Dinner", 60, "Travel", "2024-09-04") + ","
+                                + body("Museum", 25, "Travel", "2024-09-05") + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(4))
+                .andExpect(jsonPath("$.inserted").value(2))
+                .andExpect(jsonPath("$.aborted").value(true))
+                .andExpect(jsonPath("$.errors[0].row").value(3))
+                .andExpect(jsonPath("$.errors[0].errors[0]").value(
+                        "Rows 3-4 could not be saved; the import stopped here"));
+
+        assertThat(total(summary(9, 2024), "Travel")).isEqualTo(340.0);
+    }
+
+    @Test
+    void exportsFullHistoryAsCsvAndGzippedNdjson() throws Exception {
+        create("Books, used", 15, "Education", "2024-07-01");
+        create("Course", 99, "Education", "2024-07-02");
+
+        MvcResult csv = mvc.perform(get("/expenses/export")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String[] lines = mvc.perform(asyncDispatch(csv))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(header().stringValues("Vary", Matchers.hasItem("Accept-Encoding")))
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+                .split("\n");
+
+        assertThat(lines).hasSize(3);
+        assertThat(lines[1]).contains("\"Books, used\",15.0,Education,2024-07-01");
+
+        MvcResult ndjson = mvc.perform(get("/expenses/export")
+                        .param("format", "ndjson")
+                        .header("Accept-Encoding", "gzip")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] compressed = mvc.perform(asyncDispatch(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().stringValues("Vary", Matchers.hasItem("Accept-Encoding")))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        String json = new String(
+                new GZIPInputStream(new ByteArrayInputStream(compressed)).readAllBytes(),
+                StandardCharsets.UTF_8
+        );
+        assertThat(json.lines().map(this::title)).containsExactly("Books, used", "Course");
+
+        // q=0 refuses gzip even though the header names it
+        MvcResult refused = mvc.perform(get("/expenses/export")
+                        .param("format", "ndjson")
+                        .header("Accept-Encoding", "gzip;q=0, identity")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String plain = mvc.perform(asyncDispatch(refused))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        assertThat(plain.lines().map(this::title)).containsExactly("Books, used", "Course");
+    }
+
+    @Test
+    void answersNotModifiedUntilExpensesChange() throws Exception {
+        create("Gym", 30, "Health", "2024-08-01");
+
+        String etag = mvc.perform(get("/expenses/summary")
+                        .param("month", "8")
+                        .param("year", "2024")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mvc.perform(get("/expenses/summary")
+                        .param("month", "8")
+                        .param("year", "2024")
+                        .header("If-None-Match", etag)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotModified());
+
+        create("Pharmacy", 12, "Health", "2024-08-03");
+
+        mvc.perform(get("/expenses/summary")
+                        .param("month", "8")
+                        .param("year", "2024")
+                        .header("If-None-Match", etag)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].total").value(42.0));
+    }
+
+    @Test
+    void answersYearRunningAndTopCategoryAnalytics() throws Exception {
+        create("Rent", 900, "Housing", "2023-01-01");
+        create("Groceries", 50, "Food", "2023-01-20");
+        create("Groceries", 70, "Food", "2023-03-05");
+        create("Cinema", 15, "Entertainment", "2023-03-31");
+
+        mvc.perform(get("/expenses/analytics/year")
+                        .param("year", "2023")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categories[0]").value("Entertainment"))
+                .andExpect(jsonPath("$.totals[1][0]").value(50.0))
+                .andExpect(jsonPath("$.totals[1][2]").value(70.0))
+                .andExpect(jsonPath("$.monthTotals[0]").value(950.0))
+                .andExpect(jsonPath("$.total").value(1035.0));
+
+        mvc.perform(get("/expenses/analytics/running-totals")
+                        .param("from", "2023-01")
+                        .param("to", "2023-03")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.months[1]").value("2023-02"))
+                .andExpect(jsonPath("$.totals[1]").value(0.0))
+                .andExpect(jsonPath("$.cumulative[2]").value(1035.0));
+
+        // Partial January and March edges come from the expense table, February from the rollup
+        mvc.perform(get("/expenses/analytics/top-categories")
+                        .param("from", "2023-01-15")
+                        .param("to", "2023-03-30")
+                        .param("limit", "1")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categories[0]").value("Food"))
+                .andExpect(jsonPath("$.totals[0]").value(120.0))
+                .andExpect(jsonPath("$.otherTotal").value(0.0));
+
+        mvc.perform(get("/expenses/analytics/running-totals")
+                        .param("from", "2023-03")
+                        .param("to", "2023-01")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void publishesHotPathMetricsForPrometheus() throws Exception {
+        create("Taxi", 18, "Transport", "2024-10-01");
+
+        mvc.perform(get("/expenses/filter")
+                        .param("category", "Transport")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        // Not served on the application port, with or without a token; prod scrapes the management port
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+        mvc.perform(get("/actuator/prometheus")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+        mvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+
+        String scrape = prometheus.scrape();
+
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_bucket{")
+                .contains("expense_query_seconds_count{filter=\"category\",query=\"page\"")
+                .contains("spring_data_repository_invocations_seconds_count{")
+                .contains("security_jwt_validation_seconds_count{outcome=\"valid\"")
+                .contains("security_password_hash_seconds_count{operation=\"matches\"")
+                .contains("hikaricp_connections_active")
+                .contains("hibernate_statements_total");
+    }
+
+    @Test
+    void sortsByAmountAndRejectsUnknownSortProperties() throws Exception {
+        create("Rent", 900, "Housing", "2024-05-01");
+        create("Coffee", 3.5, "Food", "2024-05-02");
+        create("Dinner", 40, "Food", "2024-05-03");
+
+        mvc.perform(get("/expenses")
+                        .param("sortBy", "amount")
+                        .param("sortDir", "asc")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Coffee"))
+                .andExpect(jsonPath("$.content[2].title").value("Rent"));
+
+        mvc.perform(get("/expenses/filter")
+                        .param("category", "Food")
+                        .param("sortBy", "amount")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Dinner"));
+
+        mvc.perform(get("/expenses")
+                        .param("sortBy", "user.password")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]").value("Cannot sort by user.password"));
+    }
+
+    @Test
+    void allowsBrowserPreflightForBatchPatch() throws Exception {
+        mvc.perform(options("/expenses/batch")
+                        .header("Origin", "http://localhost:5173")
+                        .header("Access-Control-Request-Method", "PATCH")
+                        .header("Access-Control-Request-Headers", "Authorization, Content-Type"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Access-Control-Allow-Origin", "http://localhost:5173"))
+                .andExpect(header().string("Access-Control-Allow-Methods", Matchers.containsString("PATCH")));
+    }
+
+    @Test
+    void allowsBrowserPreflightForMinimalUpdates() throws Exception {
+        mvc.perform(options("/expenses/1")
+                        .header("Origin", "http://localhost:5173")
+                        .header("Access-Control-Request-Method", "PUT")
+                        .header("Access-Control-Request-Headers", "Authorization, Content-Type, Prefer"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Access-Control-Allow-Headers", Matchers.containsString("Prefer")));
+    }
+
+    @Test
+    void exposesRetryAfterToBrowsers() throws Exception {
+        mvc.perform(get("/expenses")
+                        .header("Origin", "http://localhost:5173")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Access-Control-Expose-Headers", Matchers.containsString("Retry-After")));
+    }
+
+    @Test
+    void allowsBrowserConditionalGetsAndExportFileNames() throws Exception {
+        mvc.perform(options("/expenses")
+                        .header("Origin", "http://localhost:5173")
+                        .header("Access-Control-Request-Method", "GET")
+                        .header("Access-Control-Request-Headers", "Authorization, If-None-Match"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Access-Control-Allow-Headers", Matchers.containsString("If-None-Match")));
+
+        mvc.perform(get("/expenses")
+                        .header("Origin", "http://localhost:5173")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Access-Control-Expose-Headers", Matchers.allOf(
+                        Matchers.containsString("ETag"),
+                        Matchers.containsString("Content-Disposition"))));
+    }
+
+    @Test
+    void rejectsRequestsWithoutToken() throws Exception {
+        mvc.perform(get("/expenses"))
+                .andExpect(status().isForbidden());
+    }
+
+    private long create(String title, double amount, String category, String date) throws Exception {
+        String response = mvc.perform(post("/expenses")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(title, amount, category, date)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        return mapper.readTree(response).get("id").asLong();
+    }
+
+    private JsonNode summary(int month, int year) throws Exception {
+        String response = mvc.perform(get("/expenses/summary")
+                        .param("month", String.valueOf(month))
+                        .param("year", String.valueOf(year))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        return mapper.readTree(response);
+    }
+
+    private JsonNode slice(String cursor, int size) throws Exception {
+        String response = mvc.perform(get("/expenses/filter")
+                        .param("category", "Food")
+                        .param("cursor", cursor)
+                        .param("size", String.valueOf(size))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        return mapper.readTree(response);
+    }
+
+    private List<String> search(String q, String... params) throws Exception {
+        MockHttpServletRequestBuilder request = get("/expenses/search")
+                .param("q", q)
+                .param("size", "10")
+                .header("Authorization", "Bearer " + token);
+        for (int i = 0; i < params.length; i += 2) {
+            request.param(params[i], params[i + 1]);
+        }
+
+        String response = mvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        List<String> titles = new ArrayList<>();
+        for (JsonNode row : mapper.readTree(response).get("content")) {
+            titles.add(row.get("title").asText());
+        }
+        return titles;
+    }
+
+    private double alerts(String threshold) {
+        Counter counter = meterRegistry.find("budget.alerts").tag("threshold", threshold).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private String title(String json) {
+        try {
+            return mapper.readTree(json).get("title").asText();
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static double total(JsonNode summary, String category) {
+        for (JsonNode row : summary) {
+            if (row.get("category").asText().equals(category)) {
+                return row.get("total").asDouble();
+            }
+        }
+        return 0;
+    }
+
+    private static String body(String title, double amount, String category, String date) {
+        return """
+                {"title": "%s", "amount": %s, "category": "%s", "date": "%s",
+                 "paymentMethod": "Card", "notes": "test"}
+                """.formatted(title, amount, category, date);
+    }
+}
@@ -0,0 +1,114 @@
+package com.expensetracker.expense_tracker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cached reads are served without hitting the database and are invalidated
+ * by the owner's writes. Changes made behind the application's back are
+ * therefore only visible after the next write.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ExpenseReadCacheTests {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private String token;
+    private long userId;
+
+    @BeforeEach
+    void registerAndLogin() throws Exception {
+        String email = UUID.randomUUID() + "@example.com";
+        String credentials = """
+                {"email": "%s", "password": "secret"}
+                """.formatted(email);
+
+        mvc.perform(asyncDispatch(mvc.perform(post("/users/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(credentials))
+                        .andReturn()))
+                .andExpect(status().isCreated());
+
+        token = mvc.perform(asyncDispatch(mvc.perform(post("/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(credentials))
+                        .andReturn()))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        userId = jdbc.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, email);
+    }
+
+    @Test
+    void servesSummaryAndFirstPageFromCacheUntilTheUserWrites() throws Exception {
+        create("Rent", 900);
+
+        summary().andExpect(jsonPath("$[0].total").value(900.0));
+        firstPage().andExpect(jsonPath("$.content[0].title").value("Rent"));
+
+        jdbc.update("UPDATE monthly_category_total SET total_minor = 100 WHERE user_id = ?", userId);
+        jdbc.update("UPDATE expense SET title = 'Changed' WHERE user_id = ?", userId);
+
+        summary().andExpect(jsonPath("$[0].total").value(900.0));
+        firstPage().andExpect(jsonPath("$.content[0].title").value("Rent"));
+
+        create("Deposit", 100);
+
+        summary().andExpect(jsonPath("$[0].total").value(101.0));
+        firstPage().andExpect(jsonPath("$.content[1].title").value("Changed"));
+    }
+
+    private void create(String title, double amount) throws Exception {
+        mvc.perform(post("/expenses")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(Map.of(
+                                "title", title,
+                                "amount", amount,
+                                "category", "Housing",
+                                "date", "2024-09-01",
+                                "paymentMethod", "Card"
+                        ))))
+                .andExpect(status().isOk());
+    }
+
+    private ResultActions summary() throws Exception {
+        return mvc.perform(get("/expenses/summary")
+                        .param("month", "9")
+                        .param("year", "2024")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    private ResultActions firstPage() throws Exception {
+        return mvc.perform(get("/expenses")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,51 @@
+package com.expensetracker.migration;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BaselineSchemaMigrationTests {
+
+    @Test
+    void adoptsSchemaHibernateBuiltAndMovesSequencePastIdentityIds() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:baseline_migration;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+        // What ddl-auto=update left behind: money already fixed-point, ids from the old IDENTITY column
+        jdbc.execute("CREATE TABLE users (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, name VARCHAR(255), email VARCHAR(255), password VARCHAR(255))");
+        jdbc.execute("""
+                CREATE TABLE expense (id BIGINT PRIMARY KEY, title VARCHAR(255) NOT NULL,
+                    amount_minor BIGINT NOT NULL, currency VARCHAR(3) NOT NULL, category VARCHAR(255) NOT NULL,
+                    date DATE NOT NULL, payment_method VARCHAR(255) NOT NULL, notes VARCHAR(255),
+                    created_at TIMESTAMP(6) NOT NULL, user_id BIGINT NOT NULL REFERENCES users (id))
+                """);
+        jdbc.execute("CREATE SEQUENCE expense_seq START WITH 1 INCREMENT BY 50");
+        jdbc.update("INSERT INTO users (name, email, password) VALUES ('a', 'a@example.com', 'x')");
+        jdbc.update("""
+                INSERT INTO expense VALUES (1234, 'Rent', 90000, 'USD', 'Housing', DATE '2024-03-01',
+                    'Card', NULL, TIMESTAMP '2024-03-01 10:00:00', 1)
+                """);
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:com/expensetracker/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM expense", Integer.class)).isEqualTo(1);
+        assertThat(jdbc.queryForObject("""
+                SELECT COUNT(*) FROM information_schema.tables
+                WHERE table_name IN ('monthly_category_total', 'expense_search_term', 'budget')
+                """, Integer.class)).isEqualTo(3);
+
+        // The pooled optimizer's first block must start above the highest existing id
+        long next = jdbc.queryForObject("SELECT NEXT VALUE FOR expense_seq", Long.class);
+        assertThat(next - 50 + 1).isGreaterThan(1234);
+    }
+}
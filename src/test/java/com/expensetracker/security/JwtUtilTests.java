@@ -0,0 +1,76 @@
+package com.expensetracker.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtUtilTests {
+
+    @BeforeEach
+    void clearCache() {
+        JwtUtil.clearVerifiedTokens();
+    }
+
+    @Test
+    void roundTripsUserIdAndEmail() {
+        String token = JwtUtil.generateToken(7L, "a@example.com");
+
+        UserPrincipal first = JwtUtil.validateToken(token);
+        UserPrincipal cached = JwtUtil.validateToken(token);
+
+        assertThat(first.getId()).isEqualTo(7L);
+        assertThat(first.getName()).isEqualTo("a@example.com");
+        assertThat(cached).isSameAs(first);
+    }
+
+    @Test
+    void acceptsLegacyTokensWithoutUserId() {
+        String token = signed(Jwts.builder()
+                .setSubject("legacy@example.com")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000)));
+
+        UserPrincipal principal = JwtUtil.validateToken(token);
+
+        assertThat(principal.getId()).isNull();
+        assertThat(principal.getName()).isEqualTo("legacy@example.com");
+    }
+
+    @Test
+    void rejectsExpiredTokens() {
+        String token = signed(Jwts.builder()
+                .setSubject("old@example.com")
+                .setExpiration(new Date(System.currentTimeMillis() - 1_000)));
+
+        assertThatThrownBy(() -> JwtUtil.validateToken(token))
+                .isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    void rejectsTamperedTokens() {
+        String token = JwtUtil.generateToken(7L, "a@example.com");
+        JwtUtil.validateToken(token);
+
+        String tampered = token.substring(0, token.length() - 2)
+                + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> JwtUtil.validateToken(tampered))
+                .isInstanceOf(SignatureException.class);
+    }
+
+    private static String signed(io.jsonwebtoken.JwtBuilder builder) {
+        byte[] secret = System.getenv("JWT_SECRET").getBytes(StandardCharsets.UTF_8);
+        return builder
+                .signWith(Keys.hmacShaKeyFor(secret), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
@@ -0,0 +1,51 @@
+package com.expensetracker.security;
+
+import com.expensetracker.exception.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHasherTests {
+
+    @Test
+    void rejectsOnceThePoolAndQueueAreFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        BCryptPasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PasswordHasher hasher = new PasswordHasher(blocking, registry, 1, 1);
+
+        try {
+            CompletableFuture<String> running = hasher.encode("a");
+            CompletableFuture<String> queued = hasher.encode("b");
+
+            assertThatThrownBy(() -> hasher.encode("c"))
+                    .isInstanceOf(ServiceBusyException.class);
+
+            release.countDown();
+            assertThat(blocking.matches("a", running.get())).isTrue();
+            assertThat(hasher.matches("b", queued.get()).get()).isTrue();
+
+            assertThat(registry.get("security.password.rejected").counter().count()).isEqualTo(1);
+            assertThat(registry.get("security.password.queue.wait").timer().count()).isEqualTo(3);
+        } finally {
+            hasher.shutdown();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.expensetracker.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    // 20 tokens, one refilled every 100 seconds: nothing refills while the test runs
+    private final RateLimitFilter filter = new RateLimitFilter(registry, true, 20, 0.01, 1000);
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void chargesEachEndpointItsCostPerUser() throws Exception {
+        authenticate(1L);
+
+        // Ten filters at cost 2 empty the bucket
+        for (int i = 0; i < 10; i++) {
+            assertThat(call("GET", "/expenses/filter").getStatus()).isEqualTo(200);
+        }
+
+        MockHttpServletResponse rejected = call("GET", "/expenses");
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isIn("99", "100");
+        assertThat(rejected.getContentAsString()).contains("Too many requests");
+
+        // An export needs 20 tokens, so the wait covers all of them
+        assertThat(call("GET", "/expenses/export").getHeader("Retry-After")).isIn("1999", "2000");
+
+        // Another user has a bucket of their own
+        authenticate(2L);
+        assertThat(call("GET", "/expenses/export").getStatus()).isEqualTo(200);
+
+        assertThat(registry.get("security.ratelimit.rejected").tag("endpoint", "default").counter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("security.ratelimit.rejected").tag("endpoint", "export").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void leavesAnonymousAndSignInRequestsAlone() throws Exception {
+        for (int i = 0; i < 30; i++) {
+            assertThat(call("GET", "/expenses/export").getStatus()).isEqualTo(200);
+            assertThat(call("POST", "/users/login").getStatus()).isEqualTo(200);
+        }
+    }
+
+    @Test
+    void refillsAtTheConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(2, 1, 0);
+
+        assertThat(bucket.tryAcquire(1, 0)).isZero();
+        assertThat(bucket.tryAcquire(1, 0)).isZero();
+        assertThat(bucket.tryAcquire(1, 0)).isEqualTo(1_000_000_000L);
+
+        assertThat(bucket.tryAcquire(1, 500_000_000L)).isEqualTo(500_000_000L);
+        assertThat(bucket.tryAcquire(1, 1_000_000_000L)).isZero();
+
+        // Idle time refills up to capacity, never beyond
+        assertThat(bucket.tryAcquire(2, 60_000_000_000L)).isZero();
+        assertThat(bucket.tryAcquire(1, 60_000_000_000L)).isPositive();
+    }
+
+    private static void authenticate(Long userId) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new UserPrincipal(userId, "user" + userId + "@example.com"), null, List.of()));
+    }
+
+    private MockHttpServletResponse call(String method, String path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setServletPath(path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}